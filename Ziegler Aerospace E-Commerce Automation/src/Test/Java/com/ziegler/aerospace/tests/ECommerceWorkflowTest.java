@@ -1,29 +1,41 @@
 package com.ziegler.aerospace.tests;
 
-import com.ziegler.aerospace.pages.HomePage;
+import com.ziegler.aerospace.pages.PageRegistry;
 import com.ziegler.aerospace.pages.ProductPage;
 import com.ziegler.aerospace.pages.CartPage;
 import com.ziegler.aerospace.pages.CheckoutPage;
 import com.ziegler.aerospace.pages.RegistrationPage;
+import com.ziegler.aerospace.utils.CartSeeder;
+import com.ziegler.aerospace.utils.CatalogCrawler;
+import com.ziegler.aerospace.utils.DomSnapshot;
 import com.ziegler.aerospace.utils.DriverManager;
+import com.ziegler.aerospace.utils.ElementCache;
+import com.ziegler.aerospace.utils.ImplicitWaitMonitor;
+import com.ziegler.aerospace.utils.PageWeightTracker;
 import com.ziegler.aerospace.utils.ReportManager;
+import com.ziegler.aerospace.utils.SelectorResolver;
+import com.ziegler.aerospace.utils.StepRecorder;
 import com.ziegler.aerospace.utils.TestDataManager;
+import com.ziegler.aerospace.utils.WaitEngine;
+import com.ziegler.aerospace.utils.ZoneCatalog;
 import org.testng.Assert;
+import org.testng.ITestResult;
 import org.testng.annotations.*;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class ECommerceWorkflowTest {
-    private HomePage homePage;
-    private ProductPage productPage;
-    private CartPage cartPage;
-    private CheckoutPage checkoutPage;
-    private RegistrationPage registrationPage;
+    // -Dcart.seed=ui rebuilds the cart through the product pages instead of the HTTP fast path
+    private static final boolean SEED_CART_OVER_HTTP = !"ui".equalsIgnoreCase(System.getProperty("cart.seed", "http"));
+    // -Dsession.restore=false makes every test rebuild its state instead of resuming a saved session snapshot
+    private static final boolean RESTORE_SNAPSHOTS = Boolean.parseBoolean(System.getProperty("session.restore", "true"));
+    private static final String CART_SNAPSHOT = "cart-with-2-items";
     
-    private int totalTests = 0;
-    private int passedTests = 0;
-    private int failedTests = 0;
+    private final AtomicInteger totalTests = new AtomicInteger();
+    private final AtomicInteger passedTests = new AtomicInteger();
+    private final AtomicInteger failedTests = new AtomicInteger();
     
     @BeforeClass
     public void setupClass() {
@@ -39,22 +51,27 @@ public class ECommerceWorkflowTest {
         
         ReportManager.initReports();
         TestDataManager.clearResults();
+        DriverManager.warmPool("chrome");
+        
+        // -Dcatalog.refresh=true re-crawls the store over HTTP before the suite (unchanged pages are skipped)
+        if (Boolean.getBoolean("catalog.refresh")) {
+            CatalogCrawler.refresh();
+        }
     }
     
     @BeforeMethod
     public void setup() {
         System.out.println("\n🔧 Setting up test environment...");
         DriverManager.setDriver("chrome");
+        ImplicitWaitMonitor.reset();
+        ElementCache.reset();
+        StepRecorder.reset();
         
-        // Initialize page objects
-        homePage = new HomePage(DriverManager.getDriver());
-        productPage = new ProductPage(DriverManager.getDriver());
-        cartPage = new CartPage(DriverManager.getDriver());
-        checkoutPage = new CheckoutPage(DriverManager.getDriver());
-        registrationPage = new RegistrationPage(DriverManager.getDriver());
+        // Page objects are created on first use, bound to the calling thread's driver
+        PageRegistry.release();
         
-        System.out.println("✅ Page objects initialized");
-        totalTests++;
+        System.out.println("✅ Page registry ready");
+        totalTests.incrementAndGet();
     }
     
     @Test(priority = 1, description = "Verify homepage categories and product availability")
@@ -64,10 +81,10 @@ public class ECommerceWorkflowTest {
         
         try {
             ReportManager.logStep("Navigate to automation test store homepage");
-            homePage.navigateToHomepage();
+            pages().home().navigateToHomepage();
             
             ReportManager.logStep("Detect and print all main category names dynamically");
-            List<String> categories = homePage.getAllCategoryNames();
+            List<String> categories = pages().home().getAllCategoryNames();
             
             Assert.assertTrue(categories.size() > 0, "No categories found on homepage");
             ReportManager.logPass("Successfully detected " + categories.size() + " categories");
@@ -80,22 +97,22 @@ public class ECommerceWorkflowTest {
             }
             
             ReportManager.logStep("Select random category and verify minimum product count");
-            homePage.selectRandomCategory();
+            pages().home().selectRandomCategory();
             
-            boolean hasEnoughProducts = homePage.hasAtLeastThreeProducts();
+            boolean hasEnoughProducts = pages().home().hasAtLeastThreeProducts();
             Assert.assertTrue(hasEnoughProducts, "Selected category has less than 3 products");
             ReportManager.logPass("Category contains at least 3 visible products - requirement met");
             
             TestDataManager.logTestResult("Homepage Verification", "PASS", 
                 "Categories: " + categories.size() + ", Products: ≥3", getCurrentTimestamp());
             
-            passedTests++;
+            passedTests.incrementAndGet();
             
         } catch (Exception e) {
             ReportManager.logFail("Homepage verification failed: " + e.getMessage());
             ReportManager.attachScreenshot(DriverManager.getDriver(), "homepage_failure");
             TestDataManager.logFailedValidation("Homepage Verification", e.getMessage());
-            failedTests++;
+            failedTests.incrementAndGet();
             throw e;
         }
     }
@@ -107,14 +124,14 @@ public class ECommerceWorkflowTest {
         
         try {
             ReportManager.logStep("Navigate to homepage and select category");
-            homePage.navigateToHomepage();
-            homePage.selectRandomCategory();
+            pages().home().navigateToHomepage();
+            pages().home().selectRandomCategory();
             
             ReportManager.logStep("Select and add 2 random products to cart");
-            productPage.selectRandomProducts(2);
+            pages().product().selectRandomProducts(2);
             
             // Log product details
-            List<ProductPage.ProductDetails> selectedProducts = productPage.getSelectedProducts();
+            List<ProductPage.ProductDetails> selectedProducts = pages().product().getSelectedProducts();
             for (ProductPage.ProductDetails product : selectedProducts) {
                 ReportManager.logProductDetails(product.getName(), product.getPrice(), 
                     product.getQuantity(), product.getUrl());
@@ -125,30 +142,32 @@ public class ECommerceWorkflowTest {
             
             // Navigate to cart to verify
             ReportManager.logStep("Navigate to cart and verify added items");
-            cartPage.navigateToCart();
-            boolean itemsVerified = cartPage.verifyItemsInCart();
+            pages().cart().navigateToCart();
+            boolean itemsVerified = pages().cart().verifyItemsInCart();
             
             Assert.assertTrue(itemsVerified, "Cart verification failed - items not found");
             ReportManager.logPass("Cart items verified successfully");
+            DriverManager.saveSnapshot(CART_SNAPSHOT);
             
             // Log cart details
-            List<CartPage.CartItemDetails> cartItems = cartPage.getAllCartItems();
+            List<CartPage.CartItemDetails> cartItems = pages().cart().getAllCartItems();
             for (CartPage.CartItemDetails item : cartItems) {
                 TestDataManager.logCartItem(item);
             }
             
-            String totalAmount = cartPage.getTotalAmount();
+            String totalAmount = pages().cart().getTotalAmount();
             ReportManager.logInfo("Cart total amount: " + totalAmount);
+            pages().cart().attachCartScreenshot("cart_contents");
             TestDataManager.logTestResult("Cart Verification", "PASS", 
                 "Items: " + cartItems.size() + ", Total: " + totalAmount, getCurrentTimestamp());
             
-            passedTests++;
+            passedTests.incrementAndGet();
             
         } catch (Exception e) {
             ReportManager.logFail("Product selection and cart addition failed: " + e.getMessage());
             ReportManager.attachScreenshot(DriverManager.getDriver(), "product_selection_failure");
             TestDataManager.logFailedValidation("Product Selection", e.getMessage());
-            failedTests++;
+            failedTests.incrementAndGet();
             throw e;
         }
     }
@@ -159,47 +178,68 @@ public class ECommerceWorkflowTest {
             "Navigate to cart, verify items, proceed through checkout, and simulate registration");
         
         try {
-            // First add products to cart
+            // First add products to cart (add-to-cart itself is covered by testProductSelectionAndCartAddition)
             ReportManager.logStep("Setup: Add products to cart");
-            homePage.navigateToHomepage();
-            homePage.selectRandomCategory();
-            productPage.selectRandomProducts(2);
+            // The snapshot was taken on the cart page; an empty cart there means the server dropped the session
+            boolean restored = RESTORE_SNAPSHOTS
+                && DriverManager.restoreSnapshot(CART_SNAPSHOT, driver -> !pages().cart().isCartEmpty());
+            if (restored) {
+                ReportManager.logInfo("Resumed from session snapshot '" + CART_SNAPSHOT + "'");
+            }
+            
+            CartSeeder.SeedResult seeded = null;
+            if (!restored && SEED_CART_OVER_HTTP) {
+                seeded = CartSeeder.seedRandom(DriverManager.getDriver(), 2);
+                ReportManager.logInfo("Cart seeded over HTTP: " + seeded);
+            }
+            if (!restored && (seeded == null || seeded.getSeeded().isEmpty())) {
+                seeded = null;
+                pages().home().navigateToHomepage();
+                pages().home().selectRandomCategory();
+                pages().product().selectRandomProducts(2);
+            }
             
             ReportManager.logStep("Navigate to shopping cart");
-            cartPage.navigateToCart();
+            pages().cart().navigateToCart();
+            
+            if (seeded != null) {
+                Assert.assertTrue(CartSeeder.matchesCart(seeded, pages().cart().getAllCartItems()),
+                    "Cart page does not show the products seeded over HTTP");
+                ReportManager.logPass("Browser sees the " + seeded.getSeeded().size() + " product(s) seeded over HTTP");
+            }
             
             ReportManager.logStep("Verify cart contents and pricing");
-            boolean cartHasItems = cartPage.verifyItemsInCart();
+            boolean cartHasItems = pages().cart().verifyItemsInCart();
             Assert.assertTrue(cartHasItems, "Cart is empty or items not found");
             ReportManager.logPass("Cart contains expected items with correct pricing");
             
-            String cartTotal = cartPage.getTotalAmount();
+            String cartTotal = pages().cart().getTotalAmount();
             ReportManager.logInfo("Verified cart total: " + cartTotal);
             
             ReportManager.logStep("Proceed to checkout process");
-            cartPage.proceedToCheckout();
+            pages().cart().proceedToCheckout();
             
-            Assert.assertTrue(checkoutPage.isOnCheckoutPage(), "Failed to reach checkout page");
+            Assert.assertTrue(pages().checkout().isOnCheckoutPage(), "Failed to reach checkout page");
             ReportManager.logPass("Successfully navigated to checkout page");
             
             ReportManager.logStep("Configure guest checkout and fill form");
-            checkoutPage.selectGuestCheckout();
-            checkoutPage.fillCheckoutForm();
+            pages().checkout().selectGuestCheckout();
+            pages().checkout().fillCheckoutForm();
             
             ReportManager.logStep("Simulate user registration process");
-            checkoutPage.simulateUserRegistration();
+            pages().checkout().simulateUserRegistration();
             
             ReportManager.logPass("Checkout workflow completed successfully");
             TestDataManager.logTestResult("Checkout Workflow", "PASS", 
                 "Complete checkout process with guest registration", getCurrentTimestamp());
             
-            passedTests++;
+            passedTests.incrementAndGet();
             
         } catch (Exception e) {
             ReportManager.logFail("Checkout workflow failed: " + e.getMessage());
             ReportManager.attachScreenshot(DriverManager.getDriver(), "checkout_failure");
             TestDataManager.logFailedValidation("Checkout Workflow", e.getMessage());
-            failedTests++;
+            failedTests.incrementAndGet();
             throw e;
         }
     }
@@ -211,24 +251,29 @@ public class ECommerceWorkflowTest {
         
         try {
             ReportManager.logStep("Navigate to registration page for validation testing");
-            registrationPage.navigateToRegistration();
+            pages().registration().navigateToRegistration();
             
             ReportManager.logStep("Perform comprehensive validation testing");
             RegistrationPage.ValidationResult validationResults = 
-                registrationPage.performComprehensiveValidationTest();
+                pages().registration().performComprehensiveValidationTest();
             
             // Log individual validation results
             TestDataManager.logValidationResult("Empty Fields Validation", 
                 validationResults.isEmptyFieldsValidation(), 
-                "Required field validation check");
+                "Required field validation check (" + validationResults.getSource(
+                    RegistrationPage.ValidationResult.EMPTY_FIELDS) + ")");
             
             TestDataManager.logValidationResult("Invalid Email Validation", 
                 validationResults.isInvalidEmailValidation(), 
-                "Email format validation check");
+                "Email format validation check (" + validationResults.getSource(
+                    RegistrationPage.ValidationResult.INVALID_EMAIL) + ")");
             
             TestDataManager.logValidationResult("Password Mismatch Validation", 
                 validationResults.isPasswordMismatchValidation(), 
-                "Password confirmation validation check");
+                "Password confirmation validation check (" + validationResults.getSource(
+                    RegistrationPage.ValidationResult.PASSWORD_MISMATCH) + ")");
+                    
+            ReportManager.logInfo("Validation checks - " + validationResults.describeSources());
             
             // Assert that at least some validations are working
             boolean anyValidationWorking = validationResults.isEmptyFieldsValidation() || 
@@ -246,18 +291,21 @@ public class ECommerceWorkflowTest {
             TestDataManager.logTestResult("Negative Testing", "PASS", 
                 "Validation system verified with multiple test scenarios", getCurrentTimestamp());
             
-            passedTests++;
+            passedTests.incrementAndGet();
             
         } catch (Exception e) {
             ReportManager.logFail("Negative scenario testing failed: " + e.getMessage());
             ReportManager.attachScreenshot(DriverManager.getDriver(), "negative_test_failure");
             TestDataManager.logFailedValidation("Negative Testing", e.getMessage());
-            failedTests++;
+            failedTests.incrementAndGet();
             throw e;
         }
     }
     
-    @Test(priority = 5, description = "Generate comprehensive test report and data export")
+    @Test(priority = 5, description = "Generate comprehensive test report and data export",
+          dependsOnMethods = {"testHomepageCategoryVerification", "testProductSelectionAndCartAddition",
+                              "testCartAndCheckoutWorkflow", "testNegativeScenarioValidation"},
+          alwaysRun = true)
     public void testReportGeneration() {
         ReportManager.createTest("Report Generation & Data Export", 
             "Generate final comprehensive test report with all captured data and statistics");
@@ -278,7 +326,7 @@ public class ECommerceWorkflowTest {
             ReportManager.logPass("Test data successfully exported to CSV files");
             
             ReportManager.logStep("Generate execution statistics");
-            ReportManager.generateExecutionSummary(totalTests, passedTests, failedTests);
+            ReportManager.generateExecutionSummary(totalTests.get(), passedTests.get(), failedTests.get());
             
             ReportManager.logPass("🎉 ALL ASSIGNMENT REQUIREMENTS COMPLETED SUCCESSFULLY");
             ReportManager.logInfo("Assignment demonstrates:");
@@ -292,21 +340,37 @@ public class ECommerceWorkflowTest {
             TestDataManager.logTestResult("Report Generation", "PASS", 
                 "Comprehensive assignment completion with full documentation", getCurrentTimestamp());
             
-            passedTests++;
+            passedTests.incrementAndGet();
             
         } catch (Exception e) {
             ReportManager.logFail("Report generation failed: " + e.getMessage());
             TestDataManager.logFailedValidation("Report Generation", e.getMessage());
-            failedTests++;
+            failedTests.incrementAndGet();
             throw e;
         }
     }
     
     @AfterMethod
-    public void tearDown() {
+    public void tearDown(ITestResult result) {
+        // Failures that never went through logFail() still get their step frames
+        if (result.getStatus() == ITestResult.FAILURE && ReportManager.hasActiveTest()) {
+            ReportManager.attachRecentSteps();
+        }
+        StepRecorder.reset();
+        
+        String implicitWaitSummary = ImplicitWaitMonitor.getSummary();
+        System.out.println("⏱️ " + implicitWaitSummary);
+        String elementCacheSummary = ElementCache.getSummary();
+        System.out.println("🧷 " + elementCacheSummary);
+        if (ReportManager.hasActiveTest()) {
+            ReportManager.logInfo(implicitWaitSummary);
+            ReportManager.logInfo(elementCacheSummary);
+        }
+        
         if (DriverManager.getDriver() != null) {
             DriverManager.quitDriver();
         }
+        PageRegistry.release();
     }
     
     @AfterClass
@@ -314,6 +378,14 @@ public class ECommerceWorkflowTest {
         // Generate final summary
         TestDataManager.generateFinalSummary();
         
+        // Close pooled browser sessions
+        DriverManager.shutdownPool();
+        PageWeightTracker.printSummary();
+        WaitEngine.printSummary();
+        DomSnapshot.printSummary();
+        SelectorResolver.save();
+        ZoneCatalog.save();
+        
         // Flush reports
         ReportManager.flushReports();
         
@@ -325,6 +397,10 @@ public class ECommerceWorkflowTest {
         System.out.println("🎉".repeat(50));
     }
     
+    private PageRegistry pages() {
+        return PageRegistry.current();
+    }
+    
     private String getCurrentTimestamp() {
         return LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
     }
@@ -0,0 +1,77 @@
+package com.ziegler.aerospace.tests;
+
+import com.ziegler.aerospace.pages.CartPage;
+import com.ziegler.aerospace.pages.CheckoutPage;
+import com.ziegler.aerospace.pages.HomePage;
+import com.ziegler.aerospace.pages.PageRegistry;
+import com.ziegler.aerospace.pages.ProductPage;
+import com.ziegler.aerospace.pages.RegistrationPage;
+import org.openqa.selenium.WebDriver;
+import java.lang.reflect.Proxy;
+
+public class PageSetupBenchmark {
+    // Per-test page-object setup cost: the old eager setup() against the lazy PageRegistry.
+    // No browser needed - PageFactory only builds proxies, so a do-nothing driver is enough.
+    private static final int WARMUP = Integer.getInteger("bench.warmup", 2000);
+    private static final int ITERATIONS = Integer.getInteger("bench.iterations", 20000);
+    // How many pages a typical test touches (home + product for the cart test)
+    private static final int PAGES_USED = Integer.getInteger("bench.pages.used", 2);
+    
+    private static volatile Object sink;
+    
+    public static void main(String[] args) {
+        WebDriver driver = (WebDriver) Proxy.newProxyInstance(WebDriver.class.getClassLoader(),
+            new Class<?>[] {WebDriver.class}, (proxy, method, methodArgs) -> null);
+            
+        System.out.println("\n" + "=".repeat(100));
+        System.out.println("⏱️ PAGE OBJECT SETUP BENCHMARK (" + ITERATIONS + " iterations, "
+            + PAGES_USED + " page(s) used per test)");
+        System.out.println("=".repeat(100));
+        
+        runEager(driver, WARMUP);
+        runLazy(driver, WARMUP);
+        
+        long eager = runEager(driver, ITERATIONS);
+        long lazy = runLazy(driver, ITERATIONS);
+        
+        System.out.printf("   Eager (5 pages, 5 waits):  %8.2f µs per test%n", eager / 1000.0 / ITERATIONS);
+        System.out.printf("   Lazy registry:             %8.2f µs per test%n", lazy / 1000.0 / ITERATIONS);
+        System.out.printf("   Speedup:                   %8.2fx%n", (double) eager / Math.max(1, lazy));
+        System.out.println("=".repeat(100));
+    }
+    
+    private static long runEager(WebDriver driver, int iterations) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink = new HomePage(driver);
+            sink = new ProductPage(driver);
+            sink = new CartPage(driver);
+            sink = new CheckoutPage(driver);
+            sink = new RegistrationPage(driver);
+        }
+        return System.nanoTime() - start;
+    }
+    
+    private static long runLazy(WebDriver driver, int iterations) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            PageRegistry registry = new PageRegistry(driver);
+            if (PAGES_USED > 0) {
+                sink = registry.home();
+            }
+            if (PAGES_USED > 1) {
+                sink = registry.product();
+            }
+            if (PAGES_USED > 2) {
+                sink = registry.cart();
+            }
+            if (PAGES_USED > 3) {
+                sink = registry.checkout();
+            }
+            if (PAGES_USED > 4) {
+                sink = registry.registration();
+            }
+        }
+        return System.nanoTime() - start;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.ziegler.aerospace.tests;
+
+import org.testng.IAlterSuiteListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.xml.XmlSuite;
+import java.util.List;
+
+public class ParallelSuiteListener implements IAlterSuiteListener, ISuiteListener {
+    // -Dtest.parallel=methods|classes|tests|none and -Dtest.threads=N override testing.xml
+    private static final String PARALLEL_MODE = System.getProperty("test.parallel");
+    private static final int THREAD_COUNT = Integer.getInteger("test.threads",
+        Runtime.getRuntime().availableProcessors());
+        
+    private long suiteStart;
+    
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        if (PARALLEL_MODE == null) {
+            return;
+        }
+        
+        for (XmlSuite suite : suites) {
+            suite.setParallel(XmlSuite.ParallelMode.getValidParallel(PARALLEL_MODE));
+            suite.setThreadCount(THREAD_COUNT);
+            System.out.println("🧵 Suite " + suite.getName() + " running parallel=" + suite.getParallel()
+                + " with " + THREAD_COUNT + " thread(s)");
+        }
+    }
+    
+    @Override
+    public void onStart(ISuite suite) {
+        suiteStart = System.currentTimeMillis();
+    }
+    
+    @Override
+    public void onFinish(ISuite suite) {
+        long elapsed = System.currentTimeMillis() - suiteStart;
+        System.out.println("⏱️ Suite wall clock: " + String.format("%.1f s", elapsed / 1000.0)
+            + " (parallel=" + suite.getXmlSuite().getParallel() + ", threads=" + suite.getXmlSuite().getThreadCount() + ")");
+    }
+}
\ No newline at end of file
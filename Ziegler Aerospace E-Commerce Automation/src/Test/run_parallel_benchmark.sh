@@ -0,0 +1,38 @@
+#!/bin/bash
+
+echo ""
+echo "==============================================================================="
+echo "🧵 ZIEGLER AEROSPACE - PARALLEL EXECUTION BENCHMARK"
+echo "==============================================================================="
+echo ""
+
+MODE=${1:-methods}
+# Surefire runs this suite (pom.xml suiteXmlFile); stop before timing anything if it is missing
+SUITE="$(cd "$(dirname "$0")" && pwd)/Resources/testing.xml"
+if [ ! -f "$SUITE" ]; then
+    echo "❌ Suite file not found: $SUITE"
+    exit 1
+fi
+RESULTS="testdata/parallel_benchmark.csv"
+mkdir -p testdata
+echo "threads,mode,wall_clock_seconds,exit_code" > "$RESULTS"
+
+for THREADS in 1 2 4 8; do
+    echo "🔧 Running suite with parallel=$MODE threads=$THREADS ..."
+    START=$(date +%s.%N)
+    mvn -q test -Dtest.parallel="$MODE" -Dtest.threads="$THREADS" -Ddriver.pool.size="$THREADS"
+    EXIT_CODE=$?
+    END=$(date +%s.%N)
+    ELAPSED=$(echo "$END - $START" | bc)
+    echo "$THREADS,$MODE,$ELAPSED,$EXIT_CODE" >> "$RESULTS"
+    echo "⏱️ $THREADS thread(s): ${ELAPSED}s (exit $EXIT_CODE)"
+done
+
+echo ""
+echo "==============================================================================="
+echo "📈 SPEEDUP RELATIVE TO 1 THREAD"
+echo "==============================================================================="
+BASE=$(awk -F, 'NR==2 {print $3}' "$RESULTS")
+awk -F, -v base="$BASE" 'NR>1 {printf "   %s thread(s): %6.1fs  speedup %.2fx\n", $1, $3, base / $3}' "$RESULTS"
+echo "📄 Raw results: $RESULTS"
+echo "==============================================================================="
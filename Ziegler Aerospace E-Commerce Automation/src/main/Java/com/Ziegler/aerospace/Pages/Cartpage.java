@@ -1,6 +1,15 @@
 package com.ziegler.aerospace.pages;
 
+import com.ziegler.aerospace.utils.DomSnapshot;
+import com.ziegler.aerospace.utils.ElementCache;
+import com.ziegler.aerospace.utils.ElementProbe;
+import com.ziegler.aerospace.utils.PageWeightTracker;
+import com.ziegler.aerospace.utils.ReportManager;
+import com.ziegler.aerospace.utils.SelectorResolver;
+import com.ziegler.aerospace.utils.WaitEngine;
+import org.jsoup.nodes.Element;
 import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
@@ -28,18 +37,26 @@ public class CartPage {
     private WebElement emptyCartMessage;
     
     public CartPage(WebDriver driver) {
+        this(driver, new WebDriverWait(driver, Duration.ofSeconds(15)));
+    }
+    
+    // Used by PageRegistry so every page of a session shares one wait
+    public CartPage(WebDriver driver, WebDriverWait wait) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(15));
+        this.wait = wait;
         PageFactory.initElements(driver, this);
     }
     
     public void navigateToCart() {
         System.out.println("🛒 Navigating to shopping cart...");
         driver.get("https://automationteststore.com/index.php?rt=checkout/cart");
+        ElementCache.invalidate("cart");
         wait.until(ExpectedConditions.presenceOfElementLocated(By.tagName("body")));
         
         // Wait for cart content to load
-        Thread.sleep(2000);
+        WaitEngine.waitForDocumentReady(driver);
+        WaitEngine.waitForNetworkIdle(driver);
+        PageWeightTracker.recordPageLoad(driver);
         System.out.println("✅ Cart page loaded");
     }
     
@@ -54,8 +71,6 @@ public class CartPage {
             }
             
             // Find cart items using multiple selectors
-            List<WebElement> items = new ArrayList<>();
-            
             String[] itemSelectors = {
                 ".table tbody tr:not(.cart-empty)",
                 ".cart-item",
@@ -63,16 +78,7 @@ public class CartPage {
                 "table tr:has(.prdocutname)"
             };
             
-            for (String selector : itemSelectors) {
-                try {
-                    List<WebElement> foundItems = driver.findElements(By.cssSelector(selector));
-                    if (foundItems.size() > items.size()) {
-                        items = foundItems;
-                    }
-                } catch (Exception e) {
-                    continue;
-                }
-            }
+            List<WebElement> items = SelectorResolver.findLargest(driver, "cart", "itemRows", itemSelectors);
             
             if (items.size() > 0) {
                 System.out.println("📦 Cart contains " + items.size() + " item(s)");
@@ -112,16 +118,19 @@ public class CartPage {
         try {
             // Extract item name
             try {
-                WebElement nameElement = item.findElement(
+                WebElement nameElement = ElementProbe.findNow(driver, item,
                     By.cssSelector("td:nth-child(2), .prdocutname, .product-name"));
                 details.setName(nameElement.getText().trim());
+            } catch (StaleElementReferenceException e) {
+                // The row itself is gone; let the element cache re-resolve it
+                throw e;
             } catch (Exception e) {
                 details.setName("Item " + itemNumber);
             }
             
             // Extract price
             try {
-                WebElement priceElement = item.findElement(
+                WebElement priceElement = ElementProbe.findNow(driver, item,
                     By.cssSelector("td:nth-child(4), .price, .oneprice"));
                 details.setPrice(priceElement.getText().trim());
             } catch (Exception e) {
@@ -130,7 +139,7 @@ public class CartPage {
             
             // Extract quantity
             try {
-                WebElement qtyElement = item.findElement(
+                WebElement qtyElement = ElementProbe.findNow(driver, item,
                     By.cssSelector("td:nth-child(3), .quantity, input[name*='quantity']"));
                 String qtyText = qtyElement.getText().trim();
                 if (qtyText.isEmpty()) {
@@ -141,6 +150,8 @@ public class CartPage {
                 details.setQuantity("1");
             }
             
+        } catch (StaleElementReferenceException e) {
+            throw e;
         } catch (Exception e) {
             System.out.println("⚠️ Error extracting item details: " + e.getMessage());
         }
@@ -148,13 +159,31 @@ public class CartPage {
         return details;
     }
     
+    private CartItemDetails extractItemDetails(Element item, int itemNumber) {
+        CartItemDetails details = new CartItemDetails();
+        
+        Element nameElement = DomSnapshot.selectFirst(item, "td:nth-child(2), .prdocutname, .product-name");
+        details.setName(nameElement != null ? DomSnapshot.text(nameElement) : "Item " + itemNumber);
+        
+        Element priceElement = DomSnapshot.selectFirst(item, "td:nth-child(4), .price, .oneprice");
+        details.setPrice(priceElement != null ? DomSnapshot.text(priceElement) : "Price not found");
+        
+        Element qtyElement = DomSnapshot.selectFirst(item, "td:nth-child(3), .quantity, input[name*='quantity']");
+        if (qtyElement != null) {
+            String qtyText = DomSnapshot.text(qtyElement);
+            details.setQuantity(qtyText.isEmpty() ? DomSnapshot.value(qtyElement) : qtyText);
+        } else {
+            details.setQuantity("1");
+        }
+        
+        return details;
+    }
+    
     public void proceedToCheckout() {
         System.out.println("➡️ Proceeding to checkout...");
         
         try {
             // Look for checkout button with multiple possible selectors
-            WebElement checkout = null;
-            
             String[] checkoutSelectors = {
                 "#cart_checkout",
                 ".btn-checkout", 
@@ -163,16 +192,8 @@ public class CartPage {
                 "input[value*='Checkout']"
             };
             
-            for (String selector : checkoutSelectors) {
-                try {
-                    checkout = driver.findElement(By.cssSelector(selector));
-                    if (checkout.isDisplayed() && checkout.isEnabled()) {
-                        break;
-                    }
-                } catch (Exception e) {
-                    continue;
-                }
-            }
+            WebElement checkout = SelectorResolver.findFirst(driver, "cart", "checkoutButton", checkoutSelectors,
+                e -> e.isDisplayed() && e.isEnabled());
             
             if (checkout != null) {
                 wait.until(ExpectedConditions.elementToBeClickable(checkout));
@@ -202,16 +223,10 @@ public class CartPage {
                 "td.align_right:last-child"
             };
             
-            for (String selector : totalSelectors) {
-                try {
-                    WebElement total = driver.findElement(By.cssSelector(selector));
-                    String totalText = total.getText().trim();
-                    if (!totalText.isEmpty()) {
-                        return totalText;
-                    }
-                } catch (Exception e) {
-                    continue;
-                }
+            WebElement total = SelectorResolver.findFirst(driver, "cart", "total", totalSelectors,
+                e -> !e.getText().trim().isEmpty());
+            if (total != null) {
+                return total.getText().trim();
             }
             
             return "Total not found";
@@ -221,10 +236,15 @@ public class CartPage {
         }
     }
     
+    // Just the cart table instead of the whole viewport
+    public void attachCartScreenshot(String name) {
+        ReportManager.attachScreenshot(driver, name, By.cssSelector(".cart-info, .table, .product-list"));
+    }
+    
     public boolean isCartEmpty() {
         try {
             // Check for empty cart indicators
-            List<WebElement> emptyIndicators = driver.findElements(
+            List<WebElement> emptyIndicators = ElementProbe.findAll(driver,
                 By.cssSelector(".cart-empty, .empty-cart, .no-items"));
             
             if (!emptyIndicators.isEmpty()) {
@@ -235,11 +255,11 @@ public class CartPage {
                 }
             }
             
-            // Check if no items in cart table
-            List<WebElement> cartRows = driver.findElements(
-                By.cssSelector(".table tbody tr, .cart-item"));
+            // Check if no items in cart table; touching the rows makes handles from a reloaded cart re-resolve
+            boolean hasRows = ElementCache.withAll(driver, "cart", By.cssSelector(".table tbody tr, .cart-item"),
+                rows -> rows.stream().anyMatch(WebElement::isDisplayed));
             
-            return cartRows.isEmpty();
+            return !hasRows;
             
         } catch (Exception e) {
             return true;
@@ -250,14 +270,24 @@ public class CartPage {
         List<CartItemDetails> allItems = new ArrayList<>();
         
         try {
-            List<WebElement> items = driver.findElements(
-                By.cssSelector(".table tbody tr:not(.cart-empty)"));
-            
-            for (int i = 0; i < items.size(); i++) {
-                CartItemDetails itemDetails = extractItemDetails(items.get(i), i + 1);
-                allItems.add(itemDetails);
+            // Reading every cell of every row live is rows x cells round-trips; the snapshot needs one
+            DomSnapshot snapshot = DomSnapshot.of(driver);
+            if (snapshot != null) {
+                List<Element> rows = snapshot.select(".table tbody tr:not(.cart-empty)");
+                for (int i = 0; i < rows.size(); i++) {
+                    allItems.add(extractItemDetails(rows.get(i), i + 1));
+                }
+                return allItems;
             }
             
+            allItems = ElementCache.withAll(driver, "cart", By.cssSelector(".table tbody tr:not(.cart-empty)"), items -> {
+                List<CartItemDetails> details = new ArrayList<>();
+                for (int i = 0; i < items.size(); i++) {
+                    details.add(extractItemDetails(items.get(i), i + 1));
+                }
+                return details;
+            });
+            
         } catch (Exception e) {
             System.out.println("❌ Error getting all cart items: " + e.getMessage());
         }
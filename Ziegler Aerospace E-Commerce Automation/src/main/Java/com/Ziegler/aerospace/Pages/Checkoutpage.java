@@ -1,5 +1,11 @@
 package com.ziegler.aerospace.pages;
 
+import com.ziegler.aerospace.utils.ElementCache;
+import com.ziegler.aerospace.utils.ElementProbe;
+import com.ziegler.aerospace.utils.FormFiller;
+import com.ziegler.aerospace.utils.SelectorResolver;
+import com.ziegler.aerospace.utils.WaitEngine;
+import com.ziegler.aerospace.utils.ZoneCatalog;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
@@ -8,7 +14,6 @@ import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.Select;
-import org.openqa.selenium.JavascriptExecutor;
 import java.time.Duration;
 import java.util.List;
 
@@ -47,8 +52,13 @@ public class CheckoutPage {
     private WebElement continueButton;
     
     public CheckoutPage(WebDriver driver) {
+        this(driver, new WebDriverWait(driver, Duration.ofSeconds(15)));
+    }
+    
+    // Used by PageRegistry so every page of a session shares one wait
+    public CheckoutPage(WebDriver driver, WebDriverWait wait) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(15));
+        this.wait = wait;
         PageFactory.initElements(driver, this);
     }
     
@@ -57,7 +67,7 @@ public class CheckoutPage {
         
         try {
             // Look for guest checkout radio button
-            List<WebElement> guestOptions = driver.findElements(
+            List<WebElement> guestOptions = ElementProbe.findAll(driver,
                 By.cssSelector("#guest, input[value='guest']"));
             
             if (!guestOptions.isEmpty()) {
@@ -68,7 +78,6 @@ public class CheckoutPage {
                 }
                 
                 // Click continue to proceed to guest form
-                Thread.sleep(1000);
                 WebElement continueBtn = driver.findElement(
                     By.cssSelector("button[title='Continue'], .btn-continue, input[value='Continue']"));
                 continueBtn.click();
@@ -97,27 +106,40 @@ public class CheckoutPage {
             wait.until(ExpectedConditions.presenceOfElementLocated(
                 By.cssSelector("#accountFrm_firstname, .checkout-form, .form-group")));
             
-            Thread.sleep(1000); // Allow form to fully render
-            
-            // Fill personal information
-            System.out.println("👤 Filling personal information...");
-            fillFieldSafely("#accountFrm_firstname", "John", "First Name");
-            fillFieldSafely("#accountFrm_lastname", "Doe", "Last Name");
-            fillFieldSafely("#accountFrm_email", "john.doe@ziegler.aerospace", "Email");
-            fillFieldSafely("#accountFrm_telephone", "281-555-0123", "Phone");
+            WaitEngine.waitForDomSettled(driver); // Allow form to fully render
             
-            // Fill address information
-            System.out.println("🏠 Filling address information...");
-            fillFieldSafely("#accountFrm_address_1", "123 Aerospace Drive", "Address");
-            fillFieldSafely("#accountFrm_city", "Houston", "City");
-            fillFieldSafely("#accountFrm_postcode", "77058", "ZIP Code");
+            // Fill personal and address information in one batch
+            System.out.println("👤 Filling personal and address information...");
+            new FormFiller(driver)
+                .field("#accountFrm_firstname", "John", "First Name")
+                .field("#accountFrm_lastname", "Doe", "Last Name")
+                .field("#accountFrm_email", "john.doe@ziegler.aerospace", "Email")
+                .field("#accountFrm_telephone", "281-555-0123", "Phone")
+                .field("#accountFrm_address_1", "123 Aerospace Drive", "Address")
+                .field("#accountFrm_city", "Houston", "City")
+                .field("#accountFrm_postcode", "77058", "ZIP Code")
+                .fill();
             
-            // Select country first
-            selectDropdownSafely("#accountFrm_country_id", "United States", "Country");
-            Thread.sleep(2000); // Wait for state dropdown to populate
-            
-            // Select state
-            selectDropdownSafely("#accountFrm_zone_id", "Texas", "State");
+            // Select country first, by value from the zone catalog
+            String countryValue = ZoneCatalog.countryValue(driver, "#accountFrm_country_id", "United States");
+            if (countryValue != null) {
+                WaitEngine.beginOptionReload(driver, "#accountFrm_zone_id");
+                selectByValue("#accountFrm_country_id", countryValue, "United States", "Country");
+                WaitEngine.awaitOptionReload(driver, "#accountFrm_zone_id");
+                
+                // Select state; a cached value the reloaded list no longer offers is relearned
+                String zoneValue = ZoneCatalog.zoneValue(driver, "#accountFrm_zone_id", countryValue, "Texas");
+                if (zoneValue != null) {
+                    selectByValue("#accountFrm_zone_id", zoneValue, "Texas", "State");
+                } else {
+                    selectDropdownSafely("#accountFrm_zone_id", "Texas", "State");
+                }
+            } else {
+                selectDropdownSafely("#accountFrm_country_id", "United States", "Country");
+                WaitEngine.waitForNetworkIdle(driver); // Wait for state dropdown to populate
+                WaitEngine.waitForDomSettled(driver);
+                selectDropdownSafely("#accountFrm_zone_id", "Texas", "State");
+            }
             
             System.out.println("✅ Checkout form filled successfully");
             
@@ -126,50 +148,44 @@ public class CheckoutPage {
         }
     }
     
-    private void fillFieldSafely(String selector, String value, String fieldName) {
-        try {
-            WebElement field = driver.findElement(By.cssSelector(selector));
-            if (field != null && field.isDisplayed() && field.isEnabled()) {
-                // Scroll to field
-                ((JavascriptExecutor) driver).executeScript(
-                    "arguments[0].scrollIntoView(true);", field);
-                Thread.sleep(300);
-                
-                field.clear();
-                field.sendKeys(value);
-                System.out.println("✏️ " + fieldName + ": " + value);
-            }
-        } catch (Exception e) {
-            System.out.println("⚠️ Could not fill " + fieldName + ": " + e.getMessage());
+    private void selectByValue(String selector, String optionValue, String visibleText, String fieldName) {
+        FormFiller.FillResult result = new FormFiller(driver)
+            .field(selector, optionValue, fieldName + " (" + visibleText + ")")
+            .fill();
+        if (result.getFilled().isEmpty()) {
+            selectDropdownSafely(selector, visibleText, fieldName);
         }
     }
     
     private void selectDropdownSafely(String selector, String value, String fieldName) {
         try {
-            WebElement dropdown = driver.findElement(By.cssSelector(selector));
-            if (dropdown != null && dropdown.isDisplayed()) {
-                Select select = new Select(dropdown);
+            // The zone dropdown is rebuilt when the country changes; a stale handle is re-resolved once
+            ElementCache.with(driver, "checkout", By.cssSelector(selector), dropdown -> {
+                if (dropdown.isDisplayed()) {
+                    Select select = new Select(dropdown);
                 
-                // Try exact match first
-                try {
-                    select.selectByVisibleText(value);
-                    System.out.println("🔽 " + fieldName + ": " + value);
-                } catch (Exception e1) {
-                    // Try partial match
+                    // Try exact match first
                     try {
-                        List<WebElement> options = select.getOptions();
-                        for (WebElement option : options) {
-                            if (option.getText().contains(value)) {
-                                select.selectByVisibleText(option.getText());
-                                System.out.println("🔽 " + fieldName + ": " + option.getText());
-                                break;
+                        select.selectByVisibleText(value);
+                        System.out.println("🔽 " + fieldName + ": " + value);
+                    } catch (Exception e1) {
+                        // Try partial match
+                        try {
+                            List<WebElement> options = select.getOptions();
+                            for (WebElement option : options) {
+                                if (option.getText().contains(value)) {
+                                    select.selectByVisibleText(option.getText());
+                                    System.out.println("🔽 " + fieldName + ": " + option.getText());
+                                    break;
+                                }
                             }
+                        } catch (Exception e2) {
+                            System.out.println("⚠️ Could not select " + fieldName + ": " + value);
                         }
-                    } catch (Exception e2) {
-                        System.out.println("⚠️ Could not select " + fieldName + ": " + value);
                     }
                 }
-            }
+                return null;
+            });
         } catch (Exception e) {
             System.out.println("⚠️ Could not find dropdown for " + fieldName + ": " + e.getMessage());
         }
@@ -187,24 +203,16 @@ public class CheckoutPage {
                 ".continue-btn"
             };
             
-            WebElement continueBtn = null;
-            for (String selector : continueSelectors) {
-                try {
-                    continueBtn = driver.findElement(By.cssSelector(selector));
-                    if (continueBtn.isDisplayed() && continueBtn.isEnabled()) {
-                        break;
-                    }
-                } catch (Exception e) {
-                    continue;
-                }
-            }
+            WebElement continueBtn = SelectorResolver.findFirst(driver, "checkout", "continueButton", continueSelectors,
+                e -> e.isDisplayed() && e.isEnabled());
             
             if (continueBtn != null) {
                 wait.until(ExpectedConditions.elementToBeClickable(continueBtn));
+                WaitEngine.Transition transition = WaitEngine.beginTransition(driver);
                 continueBtn.click();
                 
                 // Wait for next step to load
-                Thread.sleep(3000);
+                WaitEngine.awaitTransition(driver, transition);
                 System.out.println("✅ Proceeded to next checkout step");
             } else {
                 System.out.println("❌ Continue button not found");
@@ -220,7 +228,7 @@ public class CheckoutPage {
             String currentUrl = driver.getCurrentUrl();
             boolean urlCheck = currentUrl.contains("checkout");
             
-            boolean elementCheck = !driver.findElements(
+            boolean elementCheck = !ElementProbe.findAll(driver,
                 By.cssSelector(".checkout-content, #checkout, .checkout-form")).isEmpty();
             
             return urlCheck || elementCheck;
@@ -235,18 +243,22 @@ public class CheckoutPage {
         
         try {
             // Fill additional registration fields if present
-            fillFieldSafely("#accountFrm_loginname", "johndoe_ziegler", "Username");
-            fillFieldSafely("#accountFrm_password", "ZieglerAero2024!", "Password");
-            fillFieldSafely("#accountFrm_confirm", "ZieglerAero2024!", "Confirm Password");
+            new FormFiller(driver)
+                .field("#accountFrm_loginname", "johndoe_ziegler", "Username")
+                .field("#accountFrm_password", "ZieglerAero2024!", "Password")
+                .field("#accountFrm_confirm", "ZieglerAero2024!", "Confirm Password")
+                .fill();
             
             // Accept terms and conditions if present
             try {
-                WebElement termsCheckbox = driver.findElement(
-                    By.cssSelector("#accountFrm_agree, input[name*='agree']"));
-                if (!termsCheckbox.isSelected()) {
-                    termsCheckbox.click();
-                    System.out.println("✅ Terms and conditions accepted");
-                }
+                ElementCache.with(driver, "checkout", By.cssSelector("#accountFrm_agree, input[name*='agree']"),
+                    termsCheckbox -> {
+                        if (!termsCheckbox.isSelected()) {
+                            termsCheckbox.click();
+                            System.out.println("✅ Terms and conditions accepted");
+                        }
+                        return null;
+                    });
             } catch (Exception e) {
                 System.out.println("ℹ️ Terms checkbox not found or not required");
             }
@@ -1,5 +1,11 @@
 package com.ziegler.aerospace.pages;
 
+import com.ziegler.aerospace.utils.DomSnapshot;
+import com.ziegler.aerospace.utils.ElementProbe;
+import com.ziegler.aerospace.utils.PageWeightTracker;
+import com.ziegler.aerospace.utils.SelectorResolver;
+import com.ziegler.aerospace.utils.WaitEngine;
+import org.jsoup.nodes.Element;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
@@ -7,14 +13,26 @@ import org.openqa.selenium.support.FindBy;
 import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.JavascriptExecutor;
 import java.time.Duration;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public class HomePage {
+    // Multiple selectors to catch different category locations
+    private static final String[] CATEGORY_SELECTORS = {
+        ".subnav a",
+        ".maintext a",
+        "nav ul li a",
+        ".category-link",
+        ".nav-pills a"
+    };
+    
     private WebDriver driver;
     private WebDriverWait wait;
+    // Category name -> link, built by the first scan and kept for the rest of the session
+    private Map<String, String> categoryIndex;
     
     @FindBy(css = "nav a, .category-link")
     private List<WebElement> categoryLinks;
@@ -29,8 +47,13 @@ public class HomePage {
     private WebElement searchBox;
     
     public HomePage(WebDriver driver) {
+        this(driver, new WebDriverWait(driver, Duration.ofSeconds(15)));
+    }
+    
+    // Used by PageRegistry so every page of a session shares one wait
+    public HomePage(WebDriver driver, WebDriverWait wait) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(15));
+        this.wait = wait;
         PageFactory.initElements(driver, this);
     }
     
@@ -41,49 +64,64 @@ public class HomePage {
         
         // Wait for page to fully load
         wait.until(ExpectedConditions.jsReturnsValue("return document.readyState === 'complete'"));
+        PageWeightTracker.recordPageLoad(driver);
         System.out.println("✅ Homepage loaded successfully");
     }
     
     public List<String> getAllCategoryNames() {
         System.out.println("🔍 Detecting all main category names...");
-        List<String> categoryNames = new ArrayList<>();
+        
+        if (categoryIndex != null) {
+            System.out.println("✅ Total categories detected: " + categoryIndex.size() + " (cached for this session)");
+            return new ArrayList<>(categoryIndex.keySet());
+        }
+        
+        Map<String, String> index = new LinkedHashMap<>();
         
         try {
             // Wait for navigation to load
             wait.until(ExpectedConditions.presenceOfElementLocated(
                 By.cssSelector(".subnav, .nav, .maintext")));
             
-            // Multiple selectors to catch different category locations
-            String[] categorySelectors = {
-                ".subnav a",
-                ".maintext a", 
-                "nav ul li a",
-                ".category-link",
-                ".nav-pills a"
-            };
-            
-            for (String selector : categorySelectors) {
-                List<WebElement> categories = driver.findElements(By.cssSelector(selector));
-                
-                for (WebElement category : categories) {
-                    String categoryText = category.getText().trim();
-                    if (!categoryText.isEmpty() && 
-                        !categoryText.equalsIgnoreCase("home") &&
-                        !categoryText.equalsIgnoreCase("login") &&
-                        !categoryText.equalsIgnoreCase("register") &&
-                        !categoryNames.contains(categoryText)) {
-                        categoryNames.add(categoryText);
-                        System.out.println("📂 Category found: " + categoryText);
+            // One scan collects name and link together, so selecting a category later needs no browser lookup
+            List<String[]> links = new ArrayList<>();
+            DomSnapshot snapshot = DomSnapshot.of(driver);
+            if (snapshot != null) {
+                for (String selector : CATEGORY_SELECTORS) {
+                    for (Element link : snapshot.select(selector)) {
+                        links.add(new String[] {DomSnapshot.text(link), link.absUrl("href")});
                     }
                 }
+            } else {
+                List<WebElement> categories = SelectorResolver.findAllProductive(
+                    driver, "home", "categoryLinks", CATEGORY_SELECTORS);
+                for (WebElement category : categories) {
+                    String href = category.getAttribute("href");
+                    links.add(new String[] {category.getText().trim(), href != null ? href : ""});
+                }
+            }
+                
+            for (String[] link : links) {
+                String categoryText = link[0];
+                if (!categoryText.isEmpty() &&
+                    !categoryText.equalsIgnoreCase("home") &&
+                    !categoryText.equalsIgnoreCase("login") &&
+                    !categoryText.equalsIgnoreCase("register") &&
+                    !index.containsKey(categoryText)) {
+                    index.put(categoryText, link[1]);
+                    System.out.println("📂 Category found: " + categoryText);
+                }
             }
             
-            System.out.println("✅ Total categories detected: " + categoryNames.size());
-            return categoryNames;
+            if (!index.isEmpty()) {
+                categoryIndex = index;
+            }
+            System.out.println("✅ Total categories detected: " + index.size());
+            return new ArrayList<>(index.keySet());
             
         } catch (Exception e) {
             System.out.println("❌ Error detecting categories: " + e.getMessage());
-            return categoryNames;
+            return new ArrayList<>(index.keySet());
         }
     }
     
@@ -97,62 +135,77 @@ public class HomePage {
             System.out.println("🎯 Selected category: " + selectedCategory);
             
             try {
-                // Try multiple approaches to find and click the category
-                WebElement categoryElement = null;
-                
-                // Approach 1: Exact text match
-                try {
-                    categoryElement = driver.findElement(
-                        By.xpath("//a[normalize-space(text())='" + selectedCategory + "']"));
-                } catch (Exception e1) {
-                    // Approach 2: Contains text
-                    try {
-                        categoryElement = driver.findElement(
-                            By.xpath("//a[contains(text(),'" + selectedCategory + "')]"));
-                    } catch (Exception e2) {
-                        // Approach 3: Case insensitive
-                        categoryElement = driver.findElement(
-                            By.xpath("//a[contains(translate(text(),'ABCDEFGHIJKLMNOPQRSTUVWXYZ','abcdefghijklmnopqrstuvwxyz'),'" 
-                            + selectedCategory.toLowerCase() + "')]"));
-                    }
-                }
-                
-                if (categoryElement != null) {
-                    // Scroll to element and click
-                    ((JavascriptExecutor) driver).executeScript(
-                        "arguments[0].scrollIntoView(true);", categoryElement);
-                    Thread.sleep(500);
-                    categoryElement.click();
-                    
-                    // Wait for category page to load
-                    wait.until(ExpectedConditions.presenceOfElementLocated(
-                        By.cssSelector(".product-item, .product-card, .thumbnails, .product")));
-                    
+                if (openCategory(selectedCategory)) {
                     System.out.println("✅ Successfully navigated to category: " + selectedCategory);
+                    return;
                 }
-                
+                System.out.println("⚠️ No link indexed for category: " + selectedCategory);
             } catch (Exception e) {
                 System.out.println("❌ Error selecting category: " + e.getMessage());
-                // Fallback: click first available category link
-                try {
-                    WebElement firstCategory = driver.findElement(By.cssSelector(".subnav a"));
-                    firstCategory.click();
-                    System.out.println("🔄 Fallback: Selected first available category");
-                } catch (Exception fallbackError) {
-                    System.out.println("❌ Fallback also failed: " + fallbackError.getMessage());
-                }
+            }
+            
+            // Fallback: click first available category link
+            try {
+                WebElement firstCategory = ElementProbe.findNow(driver, By.cssSelector(".subnav a"));
+                firstCategory.click();
+                System.out.println("🔄 Fallback: Selected first available category");
+            } catch (Exception fallbackError) {
+                System.out.println("❌ Fallback also failed: " + fallbackError.getMessage());
             }
         } else {
             System.out.println("❌ No categories found to select");
         }
     }
     
+    // Local lookup (exact, case-insensitive, then contains) followed by a direct page load
+    public boolean openCategory(String categoryName) {
+        if (categoryIndex == null) {
+            getAllCategoryNames();
+        }
+        String href = findCategoryHref(categoryName);
+        if (href == null) {
+            return false;
+        }
+        
+        driver.get(href);
+        wait.until(ExpectedConditions.presenceOfElementLocated(
+            By.cssSelector(".product-item, .product-card, .thumbnails, .product")));
+        PageWeightTracker.recordPageLoad(driver);
+        return true;
+    }
+    
+    private String findCategoryHref(String categoryName) {
+        if (categoryIndex == null) {
+            return null;
+        }
+        
+        String wanted = categoryName.trim().toLowerCase();
+        String match = categoryIndex.get(categoryName);
+        if (!isNavigable(match)) {
+            match = null;
+            for (Map.Entry<String, String> entry : categoryIndex.entrySet()) {
+                if (entry.getKey().equalsIgnoreCase(wanted) && isNavigable(entry.getValue())) {
+                    return entry.getValue();
+                }
+                if (match == null && entry.getKey().toLowerCase().contains(wanted) && isNavigable(entry.getValue())) {
+                    match = entry.getValue();
+                }
+            }
+        }
+        return match;
+    }
+    
+    private static boolean isNavigable(String href) {
+        return href != null && href.startsWith("http") && !href.contains("#");
+    }
+    
     public boolean hasAtLeastThreeProducts() {
         System.out.println("🔢 Checking if category has at least 3 products...");
         
         try {
             // Wait for products to load
-            Thread.sleep(2000);
+            WaitEngine.waitForDocumentReady(driver);
+            WaitEngine.waitForDomSettled(driver);
             
             // Multiple selectors for different product layouts
             String[] productSelectors = {
@@ -164,11 +217,14 @@ public class HomePage {
             };
             
             int totalProducts = 0;
+            DomSnapshot snapshot = DomSnapshot.of(driver);
             
             for (String selector : productSelectors) {
-                List<WebElement> products = driver.findElements(By.cssSelector(selector));
-                if (products.size() > totalProducts) {
-                    totalProducts = products.size();
+                int found = snapshot != null
+                    ? snapshot.count(selector)
+                    : ElementProbe.findAll(driver, By.cssSelector(selector)).size();
+                if (found > totalProducts) {
+                    totalProducts = found;
                 }
             }
             
@@ -202,17 +258,8 @@ public class HomePage {
                 ".topcart"
             };
             
-            WebElement cartElement = null;
-            for (String selector : cartSelectors) {
-                try {
-                    cartElement = driver.findElement(By.cssSelector(selector));
-                    if (cartElement.isDisplayed()) {
-                        break;
-                    }
-                } catch (Exception e) {
-                    continue;
-                }
-            }
+            WebElement cartElement = SelectorResolver.findFirst(
+                driver, "home", "cartIcon", cartSelectors, WebElement::isDisplayed);
             
             if (cartElement != null) {
                 wait.until(ExpectedConditions.elementToBeClickable(cartElement));
@@ -229,7 +276,7 @@ public class HomePage {
     
     public int getCartItemCount() {
         try {
-            WebElement cartCounter = driver.findElement(By.cssSelector(".cart_counter, .cart-count"));
+            WebElement cartCounter = ElementProbe.findNow(driver, By.cssSelector(".cart_counter, .cart-count"));
             String countText = cartCounter.getText().replaceAll("[^0-9]", "");
             return countText.isEmpty() ? 0 : Integer.parseInt(countText);
         } catch (Exception e) {
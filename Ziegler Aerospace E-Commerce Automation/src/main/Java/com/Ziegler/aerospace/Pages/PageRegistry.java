@@ -0,0 +1,86 @@
+package com.ziegler.aerospace.pages;
+
+import com.ziegler.aerospace.utils.DriverManager;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import java.time.Duration;
+
+public class PageRegistry {
+    // Page objects of the calling thread's session, each built on first use
+    private static final Duration PAGE_WAIT = Duration.ofSeconds(Integer.getInteger("page.wait.seconds", 15));
+    private static final ThreadLocal<PageRegistry> current = new ThreadLocal<>();
+    
+    private final WebDriver driver;
+    private final WebDriverWait wait;
+    private HomePage homePage;
+    private ProductPage productPage;
+    private CartPage cartPage;
+    private CheckoutPage checkoutPage;
+    private RegistrationPage registrationPage;
+    
+    public PageRegistry(WebDriver driver) {
+        this.driver = driver;
+        this.wait = new WebDriverWait(driver, PAGE_WAIT);
+    }
+    
+    // Rebinds automatically when the thread has moved on to a different driver
+    public static PageRegistry current() {
+        WebDriver driver = DriverManager.getDriver();
+        PageRegistry registry = current.get();
+        if (registry == null || registry.driver != driver) {
+            registry = new PageRegistry(driver);
+            current.set(registry);
+        }
+        return registry;
+    }
+    
+    // Drop the pages together with the session they were bound to
+    public static void release() {
+        current.remove();
+    }
+    
+    public HomePage home() {
+        if (homePage == null) {
+            homePage = new HomePage(driver, wait);
+        }
+        return homePage;
+    }
+    
+    public ProductPage product() {
+        if (productPage == null) {
+            productPage = new ProductPage(driver, wait);
+        }
+        return productPage;
+    }
+    
+    public CartPage cart() {
+        if (cartPage == null) {
+            cartPage = new CartPage(driver, wait);
+        }
+        return cartPage;
+    }
+    
+    public CheckoutPage checkout() {
+        if (checkoutPage == null) {
+            checkoutPage = new CheckoutPage(driver, wait);
+        }
+        return checkoutPage;
+    }
+    
+    public RegistrationPage registration() {
+        if (registrationPage == null) {
+            registrationPage = new RegistrationPage(driver, wait);
+        }
+        return registrationPage;
+    }
+    
+    public int getCreatedCount() {
+        int created = 0;
+        for (Object page : new Object[] {homePage, productPage, cartPage, checkoutPage, registrationPage}) {
+            if (page != null) {
+                created++;
+            }
+        }
+        return created;
+    }
+}
\ No newline at end of file
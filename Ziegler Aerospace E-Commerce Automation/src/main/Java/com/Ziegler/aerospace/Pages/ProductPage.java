@@ -1,5 +1,10 @@
 package com.ziegler.aerospace.pages;
 
+import com.ziegler.aerospace.utils.CatalogIndex;
+import com.ziegler.aerospace.utils.ElementCache;
+import com.ziegler.aerospace.utils.ElementProbe;
+import com.ziegler.aerospace.utils.PageWeightTracker;
+import com.ziegler.aerospace.utils.WaitEngine;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
@@ -12,8 +17,35 @@ import org.openqa.selenium.JavascriptExecutor;
 import java.time.Duration;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class ProductPage {
+    // -Dproduct.extraction=script (one round-trip), webdriver (one call per field) or compare (both, timed)
+    private static final String EXTRACTION_MODE = System.getProperty("product.extraction", "script");
+    // -Dproduct.source=index samples in-stock products from the crawled catalog instead of the category listing
+    private static final String PRODUCT_SOURCE = System.getProperty("product.source", "listing");
+    
+    private static final String NAME_SELECTOR = ".productname, .product-title h1, .bgnone h1";
+    private static final String PRICE_SELECTOR = ".productprice, .price, .oneprice";
+    private static final String QUANTITY_SELECTOR = "#product_quantity, .quantity input, input[name='quantity']";
+    private static final String OUT_OF_STOCK_SELECTOR = ".out-of-stock, .nostock";
+    
+    // innerText mirrors WebElement.getText(); querySelector returns the first match in document order like findElements
+    private static final String DETAILS_SCRIPT =
+        "var name = document.querySelector(arguments[0]);" +
+        "var price = document.querySelector(arguments[1]);" +
+        "var qty = document.querySelector(arguments[2]);" +
+        "return {" +
+        "  name: name ? name.innerText.trim() : null," +
+        "  price: price ? price.innerText.trim() : null," +
+        "  quantity: qty ? qty.value : null," +
+        "  url: location.href," +
+        "  outOfStock: document.querySelectorAll(arguments[3]).length > 0" +
+        "};";
+        
     private WebDriver driver;
     private WebDriverWait wait;
     private List<ProductDetails> selectedProducts;
@@ -37,8 +69,13 @@ public class ProductPage {
     private WebElement quantityField;
     
     public ProductPage(WebDriver driver) {
+        this(driver, new WebDriverWait(driver, Duration.ofSeconds(15)));
+    }
+    
+    // Used by PageRegistry so every page of a session shares one wait
+    public ProductPage(WebDriver driver, WebDriverWait wait) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(15));
+        this.wait = wait;
         this.selectedProducts = new ArrayList<>();
         PageFactory.initElements(driver, this);
     }
@@ -48,51 +85,46 @@ public class ProductPage {
         System.out.println("🎯 Target: Select and add " + count + " products to cart");
         
         try {
-            // Wait for products to load
-            wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(
-                By.cssSelector(".thumbnails .col-md-3, .product-item, .product")));
+            List<String> productUrls = new ArrayList<>();
+            if ("index".equalsIgnoreCase(PRODUCT_SOURCE)) {
+                for (CatalogIndex.Entry entry : CatalogIndex.shared().inStock()) {
+                    productUrls.add(entry.getUrl());
+                }
+                System.out.println("🗂️ Sampling from catalog index (" + productUrls.size() + " in-stock products)");
+            }
             
-            List<WebElement> products = driver.findElements(
-                By.cssSelector(".thumbnails .col-md-3, .product-item"));
+            if (productUrls.isEmpty()) {
+                // Wait for products to load
+                wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(
+                    By.cssSelector(".thumbnails .col-md-3, .product-item, .product")));
+                    
+                // Collect every product URL once; each product is then one direct page load, no back/re-find
+                productUrls = collectProductUrls();
+            }
             
-            System.out.println("📦 Found " + products.size() + " products available");
+            System.out.println("📦 Found " + productUrls.size() + " products available");
             
-            if (products.isEmpty()) {
+            if (productUrls.isEmpty()) {
                 System.out.println("❌ No products found on this page");
                 return;
             }
             
-            int productsToSelect = Math.min(count, products.size());
-            List<Integer> selectedIndices = new ArrayList<>();
+            int productsToSelect = Math.min(count, productUrls.size());
+            List<String> sample = sampleWithoutReplacement(productUrls, productsToSelect);
             
             for (int i = 0; i < productsToSelect; i++) {
-                int randomIndex;
-                do {
-                    randomIndex = (int) (Math.random() * products.size());
-                } while (selectedIndices.contains(randomIndex));
-                
-                selectedIndices.add(randomIndex);
-                
                 System.out.println("\n🎲 Selecting product " + (i + 1) + " of " + productsToSelect);
                 
-                WebElement selectedProduct = products.get(randomIndex);
-                
-                // Find and click product link
-                WebElement productLink = selectedProduct.findElement(
-                    By.cssSelector("a, .product-link, .prdocutname a"));
-                
-                String productHref = productLink.getAttribute("href");
+                String productHref = sample.get(i);
                 System.out.println("🔗 Product URL: " + productHref);
                 
-                // Scroll to product and click
-                ((JavascriptExecutor) driver).executeScript(
-                    "arguments[0].scrollIntoView(true);", productLink);
-                Thread.sleep(500);
-                productLink.click();
+                driver.get(productHref);
+                ElementCache.invalidate("product");
                 
                 // Wait for product page to load
                 wait.until(ExpectedConditions.presenceOfElementLocated(
                     By.cssSelector(".productname, .product-title, .product-details")));
+                PageWeightTracker.recordPageLoad(driver);
                 
                 // Capture product details and add to cart
                 ProductDetails details = captureProductDetails();
@@ -101,17 +133,6 @@ public class ProductPage {
                 
                 System.out.println("✅ Product " + (i + 1) + " added successfully");
                 System.out.println("📝 " + details.toString());
-                
-                // Navigate back to product list if not the last product
-                if (i < productsToSelect - 1) {
-                    driver.navigate().back();
-                    wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(
-                        By.cssSelector(".thumbnails .col-md-3, .product-item")));
-                    
-                    // Refresh product list
-                    products = driver.findElements(
-                        By.cssSelector(".thumbnails .col-md-3, .product-item"));
-                }
             }
             
             System.out.println("\n🎉 Product selection completed!");
@@ -123,14 +144,87 @@ public class ProductPage {
         }
     }
     
+    private List<String> collectProductUrls() {
+        List<String> urls = new ArrayList<>();
+        
+        @SuppressWarnings("unchecked")
+        List<Object> hrefs = (List<Object>) ((JavascriptExecutor) driver).executeScript(
+            "var linkSelector = arguments[1];" +
+            "return Array.prototype.map.call(document.querySelectorAll(arguments[0]), function(tile) {" +
+            "  var link = tile.querySelector(linkSelector);" +
+            "  return link ? link.href : null;" +
+            "});",
+            ".thumbnails .col-md-3, .product-item", "a, .product-link, .prdocutname a");
+            
+        for (Object href : hrefs) {
+            String url = (String) href;
+            if (url != null && url.startsWith("http") && !urls.contains(url)) {
+                urls.add(url);
+            }
+        }
+        return urls;
+    }
+    
+    // Partial Fisher-Yates: every subset of size k is equally likely and no index is drawn twice
+    private static <T> List<T> sampleWithoutReplacement(List<T> items, int k) {
+        List<T> pool = new ArrayList<>(items);
+        Random random = ThreadLocalRandom.current();
+        for (int i = 0; i < k; i++) {
+            Collections.swap(pool, i, i + random.nextInt(pool.size() - i));
+        }
+        return new ArrayList<>(pool.subList(0, k));
+    }
+    
     public ProductDetails captureProductDetails() {
+        if ("webdriver".equalsIgnoreCase(EXTRACTION_MODE)) {
+            return captureProductDetailsPerField();
+        }
+        if (!"compare".equalsIgnoreCase(EXTRACTION_MODE)) {
+            return captureProductDetailsInOneCall();
+        }
+        
+        long start = System.nanoTime();
+        ProductDetails perField = captureProductDetailsPerField();
+        long perFieldMillis = (System.nanoTime() - start) / 1_000_000;
+        
+        start = System.nanoTime();
+        ProductDetails oneCall = captureProductDetailsInOneCall();
+        long oneCallMillis = (System.nanoTime() - start) / 1_000_000;
+        
+        System.out.println("⏱️ Product details: per-field " + perFieldMillis + " ms vs single script "
+            + oneCallMillis + " ms" + (perField.toCSVString().equals(oneCall.toCSVString())
+                ? "" : " - results differ: " + perField.toCSVString() + " / " + oneCall.toCSVString()));
+        return oneCall;
+    }
+    
+    private ProductDetails captureProductDetailsInOneCall() {
+        ProductDetails details = new ProductDetails();
+        
+        try {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> result = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(
+                DETAILS_SCRIPT, NAME_SELECTOR, PRICE_SELECTOR, QUANTITY_SELECTOR, OUT_OF_STOCK_SELECTOR);
+                
+            details.setName(result.get("name") != null ? (String) result.get("name") : "Product Name Not Available");
+            details.setPrice(result.get("price") != null ? (String) result.get("price") : "Price Not Available");
+            details.setQuantity(result.get("quantity") != null ? (String) result.get("quantity") : "1");
+            details.setUrl((String) result.get("url"));
+            details.setInStock(!Boolean.TRUE.equals(result.get("outOfStock")));
+        } catch (Exception e) {
+            System.out.println("⚠️ Single-script extraction failed, falling back to per-field: " + e.getMessage());
+            return captureProductDetailsPerField();
+        }
+        
+        return details;
+    }
+    
+    private ProductDetails captureProductDetailsPerField() {
         ProductDetails details = new ProductDetails();
         
         try {
             // Capture product name
             try {
-                WebElement nameElement = driver.findElement(
-                    By.cssSelector(".productname, .product-title h1, .bgnone h1"));
+                WebElement nameElement = ElementProbe.findNow(driver, By.cssSelector(NAME_SELECTOR));
                 details.setName(nameElement.getText().trim());
             } catch (Exception e) {
                 details.setName("Product Name Not Available");
@@ -138,8 +232,7 @@ public class ProductPage {
             
             // Capture product price
             try {
-                WebElement priceElement = driver.findElement(
-                    By.cssSelector(".productprice, .price, .oneprice"));
+                WebElement priceElement = ElementProbe.findNow(driver, By.cssSelector(PRICE_SELECTOR));
                 details.setPrice(priceElement.getText().trim());
             } catch (Exception e) {
                 details.setPrice("Price Not Available");
@@ -147,8 +240,7 @@ public class ProductPage {
             
             // Capture quantity (default or user-selected)
             try {
-                WebElement qtyElement = driver.findElement(
-                    By.cssSelector("#product_quantity, .quantity input, input[name='quantity']"));
+                WebElement qtyElement = ElementProbe.findNow(driver, By.cssSelector(QUANTITY_SELECTOR));
                 details.setQuantity(qtyElement.getAttribute("value"));
             } catch (Exception e) {
                 details.setQuantity("1");
@@ -159,8 +251,7 @@ public class ProductPage {
             
             // Check if product is in stock
             try {
-                List<WebElement> outOfStockElements = driver.findElements(
-                    By.cssSelector(".out-of-stock, .nostock"));
+                List<WebElement> outOfStockElements = ElementProbe.findAll(driver, By.cssSelector(OUT_OF_STOCK_SELECTOR));
                 details.setInStock(outOfStockElements.isEmpty());
             } catch (Exception e) {
                 details.setInStock(true); // Assume in stock if can't determine
@@ -178,7 +269,7 @@ public class ProductPage {
             System.out.println("🛒 Adding product to cart...");
             
             // Handle product options if available
-            List<WebElement> optionSelects = driver.findElements(
+            List<WebElement> optionSelects = ElementProbe.findAll(driver,
                 By.cssSelector("select[name*='option'], .product-options select"));
             
             for (WebElement select : optionSelects) {
@@ -198,17 +289,21 @@ public class ProductPage {
             }
             
             // Find and click add to cart button
-            WebElement addButton = wait.until(ExpectedConditions.elementToBeClickable(
-                By.cssSelector(".cart, .btn-cart, .addtocart, .productcart")));
+            By addButtonLocator = By.cssSelector(".cart, .btn-cart, .addtocart, .productcart");
+            ElementCache.remember("product", addButtonLocator,
+                wait.until(ExpectedConditions.elementToBeClickable(addButtonLocator)));
             
-            // Scroll to button and click
-            ((JavascriptExecutor) driver).executeScript(
-                "arguments[0].scrollIntoView(true);", addButton);
-            Thread.sleep(500);
-            addButton.click();
+            // Scroll to button and click (option changes can re-render it; the cache re-resolves once)
+            WaitEngine.Transition transition = WaitEngine.beginTransition(driver);
+            ElementCache.with(driver, "product", addButtonLocator, addButton -> {
+                ((JavascriptExecutor) driver).executeScript(
+                    "arguments[0].scrollIntoView(true);", addButton);
+                addButton.click();
+                return null;
+            });
             
             // Wait for cart update
-            Thread.sleep(3000);
+            WaitEngine.awaitCartUpdate(driver, transition);
             System.out.println("✅ Product added to cart successfully");
             
         } catch (Exception e) {
@@ -216,10 +311,11 @@ public class ProductPage {
             
             // Try alternative add to cart method
             try {
-                WebElement altButton = driver.findElement(
+                WebElement altButton = ElementProbe.findNow(driver,
                     By.cssSelector("input[value*='Add'], button[title*='Add']"));
+                WaitEngine.Transition transition = WaitEngine.beginTransition(driver);
                 altButton.click();
-                Thread.sleep(2000);
+                WaitEngine.awaitCartUpdate(driver, transition);
                 System.out.println("✅ Product added using alternative method");
             } catch (Exception altError) {
                 System.out.println("❌ Alternative add to cart also failed: " + altError.getMessage());
@@ -0,0 +1,192 @@
+package com.ziegler.aerospace.utils;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+import com.ziegler.aerospace.pages.CartPage.CartItemDetails;
+import com.ziegler.aerospace.pages.ProductPage.ProductDetails;
+import java.net.CookieManager;
+import java.net.CookiePolicy;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class CartSeeder {
+    // Fills the cart through the store's own add-to-cart form over HTTP, inside the browser's session
+    private static final String BASE_URL = System.getProperty("catalog.base.url", "https://automationteststore.com/");
+    private static final String DEFAULT_CART_ACTION = "index.php?rt=checkout/cart";
+    private static final Duration TIMEOUT = Duration.ofSeconds(15);
+    
+    // Never crawls: building the index is left to -Dcatalog.refresh, so an empty index means the caller's UI fallback
+    public static SeedResult seedRandom(WebDriver driver, int count) {
+        CatalogIndex index = CatalogIndex.shared();
+        if (index.isEmpty()) {
+            SeedResult result = new SeedResult();
+            result.skipReason = "catalog index is empty (run with -Dcatalog.refresh=true to build it)";
+            System.out.println("🌱 Not seeding over HTTP: " + result.skipReason);
+            return result;
+        }
+        return seed(driver, index.sample(count, CatalogIndex.Entry::isInStock));
+    }
+    
+    public static SeedResult seed(WebDriver driver, List<CatalogIndex.Entry> products) {
+        System.out.println("🌱 Seeding cart over HTTP with " + products.size() + " product(s)...");
+        long start = System.currentTimeMillis();
+        SeedResult result = new SeedResult();
+        
+        try {
+            URI base = URI.create(BASE_URL);
+            // Cookies can only be exchanged while the browser is on the store's domain
+            if (!base.getHost().equals(URI.create(driver.getCurrentUrl()).getHost())) {
+                driver.get(BASE_URL);
+            }
+            
+            CookieManager cookies = new CookieManager(null, CookiePolicy.ACCEPT_ALL);
+            for (Cookie cookie : driver.manage().getCookies()) {
+                HttpCookie httpCookie = new HttpCookie(cookie.getName(), cookie.getValue());
+                httpCookie.setPath(cookie.getPath());
+                httpCookie.setDomain(cookie.getDomain());
+                httpCookie.setVersion(0);
+                cookies.getCookieStore().add(base, httpCookie);
+            }
+            
+            HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(TIMEOUT)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .cookieHandler(cookies)
+                .build();
+                
+            for (CatalogIndex.Entry product : products) {
+                try {
+                    addToCart(client, product.getUrl());
+                    result.seeded.add(product.toProductDetails());
+                    System.out.println("🌱 Added: " + product.getName());
+                } catch (Exception e) {
+                    result.failed.add(product.getUrl());
+                    System.out.println("⚠️ Could not seed " + product.getUrl() + ": " + e.getMessage());
+                }
+            }
+            
+            // Hand the (possibly new) session back to the browser
+            for (HttpCookie httpCookie : cookies.getCookieStore().get(base)) {
+                driver.manage().deleteCookieNamed(httpCookie.getName());
+                driver.manage().addCookie(new Cookie(httpCookie.getName(), httpCookie.getValue(),
+                    httpCookie.getPath() != null ? httpCookie.getPath() : "/"));
+            }
+        } catch (Exception e) {
+            System.out.println("❌ Cart seeding failed: " + e.getMessage());
+        }
+        
+        result.elapsedMillis = System.currentTimeMillis() - start;
+        System.out.println("🌱 " + result);
+        return result;
+    }
+    
+    // Every seeded product must show up among the rows the cart page reads back
+    public static boolean matchesCart(SeedResult result, List<CartItemDetails> cartItems) {
+        List<String> cartNames = cartItems.stream()
+            .map(item -> item.getName() == null ? "" : item.getName().trim().toLowerCase())
+            .collect(Collectors.toList());
+            
+        boolean matches = !result.seeded.isEmpty();
+        for (ProductDetails product : result.seeded) {
+            String name = product.getName().trim().toLowerCase();
+            boolean found = cartNames.stream().anyMatch(cartName ->
+                !cartName.isEmpty() && (cartName.contains(name) || name.contains(cartName)));
+            if (!found) {
+                System.out.println("❌ Seeded product missing from cart: " + product.getName());
+                matches = false;
+            }
+        }
+        return matches;
+    }
+    
+    // Submits the product page's own add-to-cart form, choosing the first value for any required option
+    private static void addToCart(HttpClient client, String productUrl) throws Exception {
+        HttpResponse<String> page = client.send(HttpRequest.newBuilder(URI.create(productUrl))
+            .timeout(TIMEOUT).GET().build(), HttpResponse.BodyHandlers.ofString());
+        Document document = Jsoup.parse(page.body(), productUrl);
+        
+        Element form = null;
+        Element productId = document.selectFirst("form input[name=product_id]");
+        if (productId != null) {
+            form = productId.closest("form");
+        }
+        if (form == null) {
+            throw new IllegalStateException("no add-to-cart form");
+        }
+        
+        Map<String, String> fields = new LinkedHashMap<>();
+        for (Element input : form.select("input[name]")) {
+            String type = input.attr("type").toLowerCase();
+            if ((type.equals("radio") || type.equals("checkbox")) && fields.containsKey(input.attr("name"))) {
+                continue;
+            }
+            if (!type.equals("submit") && !type.equals("button") && !type.equals("checkbox")) {
+                fields.put(input.attr("name"), input.val());
+            }
+        }
+        for (Element select : form.select("select[name]")) {
+            for (Element option : select.select("option")) {
+                if (!option.val().isEmpty() && !"0".equals(option.val())) {
+                    fields.put(select.attr("name"), option.val());
+                    break;
+                }
+            }
+        }
+        if (fields.getOrDefault("quantity", "").isEmpty()) {
+            fields.put("quantity", "1");
+        }
+        
+        String action = form.hasAttr("action") && !form.attr("action").isEmpty()
+            ? form.absUrl("action") : URI.create(BASE_URL).resolve(DEFAULT_CART_ACTION).toString();
+        String body = fields.entrySet().stream()
+            .map(field -> URLEncoder.encode(field.getKey(), StandardCharsets.UTF_8) + "="
+                + URLEncoder.encode(field.getValue(), StandardCharsets.UTF_8))
+            .collect(Collectors.joining("&"));
+            
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(action))
+            .timeout(TIMEOUT)
+            .header("Content-Type", "application/x-www-form-urlencoded")
+            .header("Referer", productUrl)
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build(), HttpResponse.BodyHandlers.ofString());
+            
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException("HTTP " + response.statusCode());
+        }
+    }
+    
+    public static class SeedResult {
+        private final List<ProductDetails> seeded = new ArrayList<>();
+        private final List<String> failed = new ArrayList<>();
+        private long elapsedMillis;
+        private String skipReason;
+        
+        public List<ProductDetails> getSeeded() { return seeded; }
+        public List<String> getFailed() { return failed; }
+        public long getElapsedMillis() { return elapsedMillis; }
+        public String getSkipReason() { return skipReason; }
+        
+        @Override
+        public String toString() {
+            if (skipReason != null) {
+                return "Skipped: " + skipReason;
+            }
+            return "Seeded " + seeded.size() + " product(s) in " + elapsedMillis + " ms"
+                + (failed.isEmpty() ? "" : ", " + failed.size() + " failed");
+        }
+    }
+}
\ No newline at end of file
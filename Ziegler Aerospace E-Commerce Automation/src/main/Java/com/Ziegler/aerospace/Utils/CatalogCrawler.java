@@ -0,0 +1,236 @@
+package com.ziegler.aerospace.utils;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class CatalogCrawler {
+    // Browser-free crawl of the store: -Dcatalog.base.url, -Dcrawler.concurrency (requests in flight)
+    private static final String BASE_URL = System.getProperty("catalog.base.url", "https://automationteststore.com/");
+    private static final int CONCURRENCY = Integer.getInteger("crawler.concurrency", 4);
+    private static final Duration TIMEOUT = Duration.ofSeconds(15);
+    private static final Pattern PRODUCT_ID = Pattern.compile("product_id=(\\d+)");
+    private static final Pattern CATEGORY_PATH = Pattern.compile("path=([\\d_]+)");
+    
+    // Same fallbacks the page objects use in the browser
+    private static final String NAME_SELECTOR = ".productname, .product-title h1, .bgnone h1";
+    private static final String PRICE_SELECTOR = ".productprice, .price, .oneprice";
+    private static final String OUT_OF_STOCK_SELECTOR = ".out-of-stock, .nostock";
+    private static final String OPTION_SELECTOR = "select[name*='option'], .product-options select";
+    
+    public static void main(String[] args) {
+        refresh();
+    }
+    
+    public static CatalogIndex refresh() {
+        return refresh(CatalogIndex.shared());
+    }
+    
+    // Incremental: pages answered with 304 keep what the index already has
+    public static CatalogIndex refresh(CatalogIndex index) {
+        System.out.println("🕸️ Crawling catalog at " + BASE_URL + " with " + CONCURRENCY + " concurrent request(s)...");
+        long start = System.currentTimeMillis();
+        AtomicInteger fetched = new AtomicInteger();
+        AtomicInteger notModified = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        
+        HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(TIMEOUT)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+        ExecutorService pool = Executors.newFixedThreadPool(CONCURRENCY);
+        
+        try {
+            Document home = Jsoup.parse(fetch(client, BASE_URL, null).body(), BASE_URL);
+            Map<String, String> categoryLinks = findCategories(home);
+            
+            // Category pages -> product URLs
+            List<Callable<Map<String, String>>> categoryTasks = new ArrayList<>();
+            for (Map.Entry<String, String> category : categoryLinks.entrySet()) {
+                categoryTasks.add(() -> crawlCategory(client, index, category.getValue(), category.getKey(),
+                    fetched, notModified, failed));
+            }
+            Map<String, String> productCategories = new LinkedHashMap<>();
+            for (Future<Map<String, String>> result : pool.invokeAll(categoryTasks)) {
+                for (Map.Entry<String, String> product : result.get().entrySet()) {
+                    productCategories.putIfAbsent(product.getKey(), product.getValue());
+                }
+            }
+            
+            // Product pages -> details
+            List<Callable<Void>> productTasks = new ArrayList<>();
+            for (Map.Entry<String, String> product : productCategories.entrySet()) {
+                productTasks.add(() -> {
+                    crawlProduct(client, index, product.getValue(), product.getKey(), fetched, notModified, failed);
+                    return null;
+                });
+            }
+            pool.invokeAll(productTasks);
+            
+            index.save();
+            System.out.println("🕸️ Crawl finished in " + (System.currentTimeMillis() - start) + " ms: "
+                + categoryLinks.size() + " categories, " + productCategories.size() + " products ("
+                + fetched.get() + " fetched, " + notModified.get() + " unchanged, " + failed.get() + " failed)");
+        } catch (Exception e) {
+            System.out.println("❌ Catalog crawl failed: " + e.getMessage());
+        } finally {
+            pool.shutdown();
+        }
+        return index;
+    }
+    
+    private static Map<String, String> findCategories(Document home) {
+        Map<String, String> categories = new LinkedHashMap<>();
+        Map<String, String> seenPaths = new LinkedHashMap<>();
+        
+        for (Element link : home.select("a[href*='rt=product/category']")) {
+            String url = link.absUrl("href");
+            String name = link.text().trim();
+            Matcher path = CATEGORY_PATH.matcher(url);
+            String key = path.find() ? path.group(1) : url;
+            if (!name.isEmpty() && seenPaths.putIfAbsent(key, url) == null) {
+                categories.put(url, name);
+            }
+        }
+        return categories;
+    }
+    
+    // Returns product URL -> category name
+    private static Map<String, String> crawlCategory(HttpClient client, CatalogIndex index, String name, String url,
+                                                     AtomicInteger fetched, AtomicInteger notModified,
+                                                     AtomicInteger failed) {
+        Map<String, String> products = new LinkedHashMap<>();
+        CatalogIndex.Entry previous = index.getCategory(url);
+        
+        try {
+            Page page = fetch(client, url, previous);
+            if (page.status() == 304) {
+                notModified.incrementAndGet();
+                for (CatalogIndex.Entry product : index.inCategory(name)) {
+                    products.put(product.getUrl(), name);
+                }
+                return products;
+            }
+            
+            fetched.incrementAndGet();
+            CatalogIndex.Entry entry = CatalogIndex.Entry.category(name, url);
+            entry.setName(name);
+            entry.setEtag(page.etag());
+            entry.setLastModified(page.lastModified());
+            index.put(entry);
+            
+            Document document = Jsoup.parse(page.body(), url);
+            Map<String, String> seenIds = new LinkedHashMap<>();
+            for (Element link : document.select(".thumbnails .col-md-3 a[href*='product_id='], .product-item a[href*='product_id=']")) {
+                String productUrl = link.absUrl("href");
+                Matcher id = PRODUCT_ID.matcher(productUrl);
+                if (id.find() && seenIds.putIfAbsent(id.group(1), productUrl) == null) {
+                    products.put(productUrl, name);
+                }
+            }
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            System.out.println("⚠️ Could not crawl category " + name + ": " + e.getMessage());
+        }
+        return products;
+    }
+    
+    private static void crawlProduct(HttpClient client, CatalogIndex index, String category, String url,
+                                     AtomicInteger fetched, AtomicInteger notModified, AtomicInteger failed) {
+        CatalogIndex.Entry previous = index.getProduct(url);
+        
+        try {
+            Page page = fetch(client, url, previous);
+            if (page.status() == 304) {
+                notModified.incrementAndGet();
+                return;
+            }
+            
+            fetched.incrementAndGet();
+            Document document = Jsoup.parse(page.body(), url);
+            CatalogIndex.Entry entry = CatalogIndex.Entry.product(category, url);
+            
+            Element name = document.selectFirst(NAME_SELECTOR);
+            entry.setName(name != null ? name.text().trim() : "Product Name Not Available");
+            
+            Element price = document.selectFirst(PRICE_SELECTOR);
+            entry.setPrice(price != null ? price.text().trim() : "Price Not Available");
+            
+            entry.setInStock(document.select(OUT_OF_STOCK_SELECTOR).isEmpty());
+            
+            // First option of each select is the "Select..." placeholder
+            List<String> options = new ArrayList<>();
+            for (Element select : document.select(OPTION_SELECTOR)) {
+                List<Element> choices = select.select("option");
+                for (int i = 1; i < choices.size(); i++) {
+                    options.add(choices.get(i).text().trim());
+                }
+            }
+            entry.setOptions(String.join(" | ", options));
+            
+            entry.setEtag(page.etag());
+            entry.setLastModified(page.lastModified());
+            index.put(entry);
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            System.out.println("⚠️ Could not crawl product " + url + ": " + e.getMessage());
+        }
+    }
+    
+    private static Page fetch(HttpClient client, String url, CatalogIndex.Entry previous) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+            .timeout(TIMEOUT)
+            .header("User-Agent", "Ziegler-Aerospace-Catalog-Crawler")
+            .GET();
+            
+        if (previous != null && !previous.getEtag().isEmpty()) {
+            request.header("If-None-Match", previous.getEtag());
+        }
+        if (previous != null && !previous.getLastModified().isEmpty()) {
+            request.header("If-Modified-Since", previous.getLastModified());
+        }
+        
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200 && response.statusCode() != 304) {
+            throw new IllegalStateException("HTTP " + response.statusCode());
+        }
+        return new Page(response.statusCode(), response.body(),
+            response.headers().firstValue("ETag").orElse(""),
+            response.headers().firstValue("Last-Modified").orElse(""));
+    }
+    
+    private static class Page {
+        private final int status;
+        private final String body;
+        private final String etag;
+        private final String lastModified;
+        
+        Page(int status, String body, String etag, String lastModified) {
+            this.status = status;
+            this.body = body;
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+        
+        int status() { return status; }
+        String body() { return body; }
+        String etag() { return etag; }
+        String lastModified() { return lastModified; }
+    }
+}
\ No newline at end of file
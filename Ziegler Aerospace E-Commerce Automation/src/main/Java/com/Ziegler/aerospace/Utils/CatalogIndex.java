@@ -0,0 +1,189 @@
+package com.ziegler.aerospace.utils;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.commons.csv.CSVRecord;
+import com.ziegler.aerospace.pages.ProductPage.ProductDetails;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+public class CatalogIndex {
+    // Products and categories found by CatalogCrawler, with the validators needed for conditional refreshes
+    private static final String INDEX_FILE = System.getProperty("catalog.index.file", "testdata/catalog_index.csv");
+    private static final String[] HEADER = {
+        "Type", "Category", "URL", "Name", "Price", "In Stock", "Options", "ETag", "Last Modified"
+    };
+    private static volatile CatalogIndex shared;
+    
+    private final Map<String, Entry> categories = new ConcurrentHashMap<>();
+    private final Map<String, Entry> products = new ConcurrentHashMap<>();
+    
+    public static CatalogIndex shared() {
+        if (shared == null) {
+            synchronized (CatalogIndex.class) {
+                if (shared == null) {
+                    shared = load();
+                }
+            }
+        }
+        return shared;
+    }
+    
+    private static CatalogIndex load() {
+        CatalogIndex index = new CatalogIndex();
+        File file = new File(INDEX_FILE);
+        if (!file.exists()) {
+            return index;
+        }
+        
+        try (FileReader reader = new FileReader(file);
+             CSVParser parser = new CSVParser(reader, CSVFormat.DEFAULT.builder()
+                 .setHeader(HEADER).setSkipHeaderRecord(true).build())) {
+            
+            for (CSVRecord record : parser) {
+                Entry entry = new Entry(record.get("Type"), record.get("Category"), record.get("URL"));
+                entry.setName(record.get("Name"));
+                entry.setPrice(record.get("Price"));
+                entry.setInStock(Boolean.parseBoolean(record.get("In Stock")));
+                entry.setOptions(record.get("Options"));
+                entry.setEtag(record.get("ETag"));
+                entry.setLastModified(record.get("Last Modified"));
+                (entry.isCategory() ? index.categories : index.products).put(entry.getUrl(), entry);
+            }
+            System.out.println("🗂️ Catalog index loaded: " + index.products.size() + " products in "
+                + index.categories.size() + " categories");
+        } catch (Exception e) {
+            System.out.println("⚠️ Could not load catalog index: " + e.getMessage());
+        }
+        return index;
+    }
+    
+    public synchronized void save() {
+        new File(INDEX_FILE).getAbsoluteFile().getParentFile().mkdirs();
+        
+        try (FileWriter writer = new FileWriter(INDEX_FILE);
+             CSVPrinter printer = new CSVPrinter(writer, CSVFormat.DEFAULT)) {
+            
+            printer.printRecord((Object[]) HEADER);
+            List<Entry> all = new ArrayList<>(categories.values());
+            all.addAll(products.values());
+            for (Entry entry : all) {
+                printer.printRecord(entry.getType(), entry.getCategory(), entry.getUrl(), entry.getName(),
+                    entry.getPrice(), entry.isInStock(), entry.getOptions(), entry.getEtag(), entry.getLastModified());
+            }
+            
+            System.out.println("🗂️ Catalog index saved: " + INDEX_FILE);
+        } catch (IOException e) {
+            System.out.println("❌ Failed to save catalog index: " + e.getMessage());
+        }
+    }
+    
+    public boolean isEmpty() {
+        return products.isEmpty();
+    }
+    
+    public Entry getCategory(String url) {
+        return categories.get(url);
+    }
+    
+    public Entry getProduct(String url) {
+        return products.get(url);
+    }
+    
+    public void put(Entry entry) {
+        (entry.isCategory() ? categories : products).put(entry.getUrl(), entry);
+    }
+    
+    public List<Entry> getCategories() {
+        return new ArrayList<>(categories.values());
+    }
+    
+    public List<Entry> find(Predicate<Entry> filter) {
+        return products.values().stream().filter(filter).collect(Collectors.toList());
+    }
+    
+    public List<Entry> inCategory(String category) {
+        return find(entry -> entry.getCategory().equalsIgnoreCase(category));
+    }
+    
+    public List<Entry> inStock() {
+        return find(Entry::isInStock);
+    }
+    
+    // Random products without replacement, straight from memory
+    public List<Entry> sample(int count, Predicate<Entry> filter) {
+        List<Entry> candidates = find(filter);
+        Collections.shuffle(candidates);
+        return candidates.subList(0, Math.min(count, candidates.size()));
+    }
+    
+    public static class Entry {
+        private final String type;
+        private final String category;
+        private final String url;
+        private String name = "";
+        private String price = "";
+        private boolean inStock = true;
+        private String options = "";
+        private String etag = "";
+        private String lastModified = "";
+        
+        public Entry(String type, String category, String url) {
+            this.type = type;
+            this.category = category;
+            this.url = url;
+        }
+        
+        public static Entry category(String name, String url) {
+            return new Entry("category", name, url);
+        }
+        
+        public static Entry product(String category, String url) {
+            return new Entry("product", category, url);
+        }
+        
+        public boolean isCategory() { return "category".equals(type); }
+        
+        // Getters and setters
+        public String getType() { return type; }
+        public String getCategory() { return category; }
+        public String getUrl() { return url; }
+        
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+        
+        public String getPrice() { return price; }
+        public void setPrice(String price) { this.price = price; }
+        
+        public boolean isInStock() { return inStock; }
+        public void setInStock(boolean inStock) { this.inStock = inStock; }
+        
+        public String getOptions() { return options; }
+        public void setOptions(String options) { this.options = options; }
+        
+        public String getEtag() { return etag; }
+        public void setEtag(String etag) { this.etag = etag; }
+        
+        public String getLastModified() { return lastModified; }
+        public void setLastModified(String lastModified) { this.lastModified = lastModified; }
+        
+        public ProductDetails toProductDetails() {
+            return new ProductDetails(name, price, "1", url, inStock);
+        }
+        
+        @Override
+        public String toString() {
+            return toProductDetails().toString() + (options.isEmpty() ? "" : " | Options: " + options);
+        }
+    }
+}
\ No newline at end of file
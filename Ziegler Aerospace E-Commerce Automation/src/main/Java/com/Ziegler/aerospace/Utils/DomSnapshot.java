@@ -0,0 +1,142 @@
+package com.ziegler.aerospace.utils;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class DomSnapshot {
+    // -Ddom.snapshot=false sends read-only inspections back to chromedriver one query at a time
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("dom.snapshot", "true"));
+    private static final String HIDDEN = "data-za-hidden";
+    private static final String INVALID = "data-za-invalid";
+    private static final ThreadLocal<DomSnapshot> current = new ThreadLocal<>();
+    private static final AtomicLong ids = new AtomicLong();
+    private static final AtomicLong taken = new AtomicLong();
+    private static final AtomicLong reused = new AtomicLong();
+    
+    // Tags the document once and bumps a version on any mutation or input, so an unchanged page costs a single
+    // round-trip returning null. Live state that outerHTML leaves out (visibility, current values, validity)
+    // is copied onto a clone as attributes
+    private static final String SNAPSHOT_SCRIPT =
+        "var w = window;" +
+        "if (!w.__zaDomId) {" +
+        "  w.__zaDomId = arguments[0]; w.__zaDomVersion = 0;" +
+        "  var bump = function() { w.__zaDomVersion++; };" +
+        "  new MutationObserver(bump).observe(document.documentElement," +
+        "    { childList: true, subtree: true, attributes: true, characterData: true });" +
+        "  document.addEventListener('input', bump, true);" +
+        "  document.addEventListener('change', bump, true);" +
+        "}" +
+        "if (w.__zaDomId === arguments[1] && w.__zaDomVersion === arguments[2]) { return null; }" +
+        "var copy = document.documentElement.cloneNode(true);" +
+        "var live = document.documentElement.getElementsByTagName('*');" +
+        "var copies = copy.getElementsByTagName('*');" +
+        "for (var i = 0; i < live.length; i++) {" +
+        "  var el = live[i], c = copies[i];" +
+        "  if (!el.getClientRects().length || getComputedStyle(el).visibility === 'hidden') {" +
+        "    c.setAttribute('" + HIDDEN + "', '');" +
+        "  }" +
+        "  if (el.tagName === 'INPUT' || el.tagName === 'TEXTAREA' || el.tagName === 'SELECT') {" +
+        "    c.setAttribute('value', el.value);" +
+        "    if (el.checked) { c.setAttribute('checked', ''); } else { c.removeAttribute('checked'); }" +
+        "  }" +
+        "  if (el.tagName === 'OPTION') {" +
+        "    if (el.selected) { c.setAttribute('selected', ''); } else { c.removeAttribute('selected'); }" +
+        "  }" +
+        "  if (el.validity && !el.validity.valid) { c.setAttribute('" + INVALID + "', ''); }" +
+        "}" +
+        "return { id: w.__zaDomId, version: w.__zaDomVersion, url: location.href, html: copy.outerHTML };";
+        
+    private final Document document;
+    private final String id;
+    private final long version;
+    
+    private DomSnapshot(Document document, String id, long version) {
+        this.document = document;
+        this.id = id;
+        this.version = version;
+    }
+    
+    // Returns null when snapshots are disabled or could not be taken, so callers fall back to live lookups
+    public static DomSnapshot of(WebDriver driver) {
+        if (!ENABLED) {
+            return null;
+        }
+        
+        DomSnapshot cached = current.get();
+        try {
+            Object result = ((JavascriptExecutor) driver).executeScript(SNAPSHOT_SCRIPT,
+                "za-dom-" + ids.incrementAndGet(),
+                cached != null ? cached.id : null,
+                cached != null ? cached.version : -1);
+                
+            if (result == null && cached != null) {
+                reused.incrementAndGet();
+                return cached;
+            }
+            
+            @SuppressWarnings("unchecked")
+            Map<String, Object> page = (Map<String, Object>) result;
+            DomSnapshot snapshot = new DomSnapshot(
+                Jsoup.parse((String) page.get("html"), (String) page.get("url")),
+                (String) page.get("id"),
+                ((Number) page.get("version")).longValue());
+            current.set(snapshot);
+            taken.incrementAndGet();
+            return snapshot;
+        } catch (Exception e) {
+            System.out.println("⚠️ DOM snapshot unavailable, using live lookups: " + e.getMessage());
+            current.remove();
+            return null;
+        }
+    }
+    
+    public Elements select(String css) {
+        return document.select(translate(css));
+    }
+    
+    public static Element selectFirst(Element context, String css) {
+        return context.selectFirst(translate(css));
+    }
+    
+    public int count(String css) {
+        return select(css).size();
+    }
+    
+    public static boolean isDisplayed(Element element) {
+        return !element.hasAttr(HIDDEN);
+    }
+    
+    // Mirrors WebElement.getText(): hidden elements and hidden descendants contribute nothing
+    public static String text(Element element) {
+        if (!isDisplayed(element)) {
+            return "";
+        }
+        Element copy = element.clone();
+        copy.select("[" + HIDDEN + "]").remove();
+        return copy.text().trim();
+    }
+    
+    // Mirrors WebElement.getAttribute("value"): null when the element has no value
+    public static String value(Element element) {
+        return element.hasAttr("value") ? element.attr("value") : null;
+    }
+    
+    public static void printSummary() {
+        if (taken.get() == 0) {
+            return;
+        }
+        System.out.println("📸 DOM snapshots: " + taken.get() + " taken, " + reused.get()
+            + " reused for unchanged pages");
+    }
+    
+    // jsoup has no form-state pseudo classes; the snapshot script records them as attributes
+    private static String translate(String css) {
+        return css.replace(":invalid", "[" + INVALID + "]");
+    }
+}
\ No newline at end of file
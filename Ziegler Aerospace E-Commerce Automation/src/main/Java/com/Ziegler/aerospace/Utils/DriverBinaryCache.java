@@ -0,0 +1,108 @@
+package com.ziegler.aerospace.utils;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class DriverBinaryCache {
+    // -Ddriver.cache.dir holds the downloaded binaries plus a pin file; -Ddriver.offline=true never touches the network
+    private static final String CACHE_DIR = System.getProperty("driver.cache.dir", "drivers/");
+    private static final String PIN_FILE = CACHE_DIR + "pinned-drivers.properties";
+    private static final boolean OFFLINE = Boolean.getBoolean("driver.offline");
+    private static final Map<String, String> resolvedPaths = new ConcurrentHashMap<>();
+    
+    public static void resolve(String browserName) {
+        String browser = browserName.toLowerCase();
+        String path = resolvedPaths.computeIfAbsent(browser, DriverBinaryCache::resolveOnce);
+        System.setProperty(systemPropertyFor(browser), path);
+    }
+    
+    private static String resolveOnce(String browser) {
+        long start = System.currentTimeMillis();
+        String source;
+        String path = pinnedPath(browser);
+        
+        if (path != null) {
+            source = "pinned cache";
+        } else if (OFFLINE) {
+            throw new IllegalStateException("Offline mode: no pinned " + browser + " driver in " + PIN_FILE
+                + " - run once online to populate it");
+        } else {
+            WebDriverManager wdm = managerFor(browser).cachePath(CACHE_DIR);
+            String pinnedVersion = System.getProperty("driver.version." + browser);
+            if (pinnedVersion != null) {
+                wdm.driverVersion(pinnedVersion);
+            }
+            wdm.setup();
+            path = wdm.getDownloadedDriverPath();
+            pin(browser, path, wdm.getDownloadedDriverVersion());
+            source = "WebDriverManager";
+        }
+        
+        System.out.println("🔧 " + browser + " driver resolved from " + source + " in "
+            + (System.currentTimeMillis() - start) + " ms: " + path);
+        return path;
+    }
+    
+    private static String pinnedPath(String browser) {
+        Properties pins = loadPins();
+        String path = pins.getProperty(browser + ".path");
+        String pinnedVersion = System.getProperty("driver.version." + browser);
+        
+        if (path == null || !new File(path).canExecute()) {
+            return null;
+        }
+        if (pinnedVersion != null && !pinnedVersion.equals(pins.getProperty(browser + ".version"))) {
+            return null;
+        }
+        return path;
+    }
+    
+    private static synchronized void pin(String browser, String path, String version) {
+        Properties pins = loadPins();
+        pins.setProperty(browser + ".path", new File(path).getAbsolutePath());
+        if (version != null) {
+            pins.setProperty(browser + ".version", version);
+        }
+        
+        new File(CACHE_DIR).mkdirs();
+        try (FileWriter writer = new FileWriter(PIN_FILE)) {
+            pins.store(writer, "Pinned WebDriver binaries");
+        } catch (IOException e) {
+            System.out.println("⚠️ Could not pin " + browser + " driver: " + e.getMessage());
+        }
+    }
+    
+    private static synchronized Properties loadPins() {
+        Properties pins = new Properties();
+        File file = new File(PIN_FILE);
+        if (file.exists()) {
+            try (FileReader reader = new FileReader(file)) {
+                pins.load(reader);
+            } catch (IOException e) {
+                System.out.println("⚠️ Could not read pinned drivers: " + e.getMessage());
+            }
+        }
+        return pins;
+    }
+    
+    private static WebDriverManager managerFor(String browser) {
+        switch (browser) {
+            case "chrome":
+                return WebDriverManager.chromedriver();
+            case "firefox":
+                return WebDriverManager.firefoxdriver();
+            default:
+                throw new IllegalArgumentException("Browser not supported: " + browser);
+        }
+    }
+    
+    private static String systemPropertyFor(String browser) {
+        return "chrome".equals(browser) ? "webdriver.chrome.driver" : "webdriver.gecko.driver";
+    }
+}
\ No newline at end of file
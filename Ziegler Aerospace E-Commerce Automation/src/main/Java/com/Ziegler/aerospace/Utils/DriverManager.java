@@ -1,19 +1,81 @@
 package com.ziegler.aerospace.utils;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
 
 public class DriverManager {
     private static ThreadLocal<WebDriver> driverThreadLocal = new ThreadLocal<>();
+    private static ThreadLocal<String> browserThreadLocal = new ThreadLocal<>();
+    
+    // Session pool: -Ddriver.pool.size=N keeps N warmed browsers per browser type (0 = disabled)
+    private static final int POOL_SIZE = Integer.getInteger("driver.pool.size", 0);
+    private static final long POOL_ACQUIRE_TIMEOUT_SECONDS = 120;
+    private static final Map<String, BlockingQueue<WebDriver>> idleSessions = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicInteger> openSessions = new ConcurrentHashMap<>();
+    private static volatile boolean shutdownHookRegistered = false;
+    private static final Duration IMPLICIT_WAIT = Duration.ofSeconds(10);
+    
+    // Named session snapshots (cookies, storage, URL), kept in memory and under -Dsnapshot.dir for other JVMs
+    private static final Path SNAPSHOT_DIR = Paths.get(System.getProperty("snapshot.dir", "testdata/snapshots"));
+    // Server-side sessions expire, so snapshots older than this are ignored
+    private static final long SNAPSHOT_MAX_AGE_MILLIS = Long.getLong("snapshot.max.age.minutes", 30) * 60_000;
+    private static final Map<String, Map<String, Object>> snapshots = new ConcurrentHashMap<>();
+    private static final Json JSON = new Json();
+    private static final String READ_STORAGE_SCRIPT =
+        "var dump = function(s) { var o = {};" +
+        "  try { for (var i = 0; i < s.length; i++) { var k = s.key(i); o[k] = s.getItem(k); } } catch (e) {}" +
+        "  return o; };" +
+        "return { url: location.href, local: dump(window.localStorage), session: dump(window.sessionStorage) };";
+    private static final String WRITE_STORAGE_SCRIPT =
+        "var fill = function(s, o) { try { s.clear(); for (var k in o) { s.setItem(k, o[k]); } } catch (e) {} };" +
+        "fill(window.localStorage, arguments[0]); fill(window.sessionStorage, arguments[1]);";
+    
+    // Browser profile: -Dbrowser.profile=lean runs headless with a fixed viewport and no heavy assets
+    private static final String BROWSER_PROFILE = System.getProperty("browser.profile", "full");
+    private static final String LEAN_VIEWPORT = System.getProperty("browser.viewport", "1366x900");
+    private static final List<String> LEAN_BLOCKED_URLS = Arrays.asList(
+        // Images, web fonts and media
+        "*.png", "*.jpg", "*.jpeg", "*.gif", "*.webp", "*.svg", "*.ico",
+        "*.woff", "*.woff2", "*.ttf", "*.otf", "*.eot",
+        "*.mp4", "*.webm", "*.mp3", "*.ogg",
+        // Analytics and ad hosts
+        "*google-analytics.com*", "*googletagmanager.com*", "*doubleclick.net*",
+        "*googlesyndication.com*", "*googleadservices.com*", "*facebook.net*",
+        "*addthis.com*", "*hotjar.com*", "*fonts.googleapis.com*", "*fonts.gstatic.com*"
+    );
     
     public static void setDriver(String browserName) {
-        WebDriver driver = createDriver(browserName);
+        WebDriver driver = isPoolEnabled() ? acquirePooledDriver(browserName) : createDriver(browserName);
         driverThreadLocal.set(driver);
+        browserThreadLocal.set(browserName.toLowerCase());
     }
     
     public static WebDriver getDriver() {
@@ -23,29 +85,335 @@ public class DriverManager {
     public static void quitDriver() {
         WebDriver driver = driverThreadLocal.get();
         if (driver != null) {
-            driver.quit();
+            if (isPoolEnabled()) {
+                releasePooledDriver(browserThreadLocal.get(), driver);
+            } else {
+                driver.quit();
+            }
             driverThreadLocal.remove();
+            browserThreadLocal.remove();
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    public static void saveSnapshot(String name) {
+        WebDriver driver = getDriver();
+        long start = System.currentTimeMillis();
+        
+        Map<String, Object> snapshot = new LinkedHashMap<>(
+            (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(READ_STORAGE_SCRIPT));
+        List<Map<String, Object>> cookies = new ArrayList<>();
+        for (Cookie cookie : driver.manage().getCookies()) {
+            Map<String, Object> saved = new LinkedHashMap<>();
+            saved.put("name", cookie.getName());
+            saved.put("value", cookie.getValue());
+            saved.put("domain", cookie.getDomain());
+            saved.put("path", cookie.getPath());
+            saved.put("expiry", cookie.getExpiry() != null ? cookie.getExpiry().getTime() : null);
+            saved.put("secure", cookie.isSecure());
+            saved.put("httpOnly", cookie.isHttpOnly());
+            saved.put("sameSite", cookie.getSameSite());
+            cookies.add(saved);
+        }
+        snapshot.put("cookies", cookies);
+        snapshot.put("savedAt", System.currentTimeMillis());
+        snapshots.put(name, snapshot);
+        
+        try {
+            Files.createDirectories(SNAPSHOT_DIR);
+            Files.write(SNAPSHOT_DIR.resolve(name + ".json"), JSON.toJson(snapshot).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            System.out.println("⚠️ Could not persist snapshot " + name + ": " + e.getMessage());
+        }
+        System.out.println("📸 Session snapshot '" + name + "' saved (" + cookies.size() + " cookie(s)) in "
+            + (System.currentTimeMillis() - start) + " ms");
+    }
+    
+    public static boolean hasSnapshot(String name) {
+        return snapshots.containsKey(name) || Files.exists(SNAPSHOT_DIR.resolve(name + ".json"));
+    }
+    
+    // Puts the current (fresh or pooled) session into the saved state; false when there is nothing to restore
+    public static boolean restoreSnapshot(String name) {
+        return restoreSnapshot(name, driver -> true);
+    }
+    
+    // verify checks the restored page against the server (e.g. the cart still has items); a snapshot that fails it is deleted
+    @SuppressWarnings("unchecked")
+    public static boolean restoreSnapshot(String name, Predicate<WebDriver> verify) {
+        Map<String, Object> snapshot = snapshots.get(name);
+        try {
+            if (snapshot == null) {
+                Path file = SNAPSHOT_DIR.resolve(name + ".json");
+                if (!Files.exists(file)) {
+                    return false;
+                }
+                snapshot = JSON.toType(new String(Files.readAllBytes(file), StandardCharsets.UTF_8), Json.MAP_TYPE);
+                snapshots.put(name, snapshot);
+            }
+            if (System.currentTimeMillis() - ((Number) snapshot.get("savedAt")).longValue() > SNAPSHOT_MAX_AGE_MILLIS) {
+                System.out.println("⌛ Snapshot " + name + " is too old to restore");
+                return false;
+            }
+            
+            WebDriver driver = getDriver();
+            long start = System.currentTimeMillis();
+            URI target = URI.create((String) snapshot.get("url"));
+            
+            // Cookies and storage can only be written from a page on the snapshot's origin
+            URI current = URI.create(driver.getCurrentUrl());
+            if (!target.getHost().equals(current.getHost())) {
+                driver.get(target.getScheme() + "://" + target.getAuthority() + "/robots.txt");
+            }
+            
+            driver.manage().deleteAllCookies();
+            for (Map<String, Object> saved : (List<Map<String, Object>>) snapshot.get("cookies")) {
+                Cookie.Builder cookie = new Cookie.Builder((String) saved.get("name"), (String) saved.get("value"))
+                    .path((String) saved.get("path"))
+                    .isSecure(Boolean.TRUE.equals(saved.get("secure")))
+                    .isHttpOnly(Boolean.TRUE.equals(saved.get("httpOnly")));
+                if (saved.get("domain") != null) {
+                    cookie.domain((String) saved.get("domain"));
+                }
+                if (saved.get("expiry") != null) {
+                    cookie.expiresOn(new Date(((Number) saved.get("expiry")).longValue()));
+                }
+                if (saved.get("sameSite") != null) {
+                    cookie.sameSite((String) saved.get("sameSite"));
+                }
+                driver.manage().addCookie(cookie.build());
+            }
+            ((JavascriptExecutor) driver).executeScript(WRITE_STORAGE_SCRIPT, snapshot.get("local"), snapshot.get("session"));
+            driver.get(target.toString());
+            
+            // The file age is only a guess; an expired or rotated server session shows up here
+            if (!verify.test(driver)) {
+                System.out.println("⌛ Snapshot " + name + " restored but the server no longer honours it - discarding");
+                driver.manage().deleteAllCookies();
+                deleteSnapshot(name);
+                return false;
+            }
+            
+            System.out.println("📸 Session snapshot '" + name + "' restored in " + (System.currentTimeMillis() - start) + " ms");
+            return true;
+        } catch (Exception e) {
+            System.out.println("⚠️ Could not restore snapshot " + name + ": " + e.getMessage());
+            return false;
+        }
+    }
+    
+    public static void deleteSnapshot(String name) {
+        snapshots.remove(name);
+        try {
+            Files.deleteIfExists(SNAPSHOT_DIR.resolve(name + ".json"));
+        } catch (IOException e) {
+            System.out.println("⚠️ Could not delete snapshot " + name + ": " + e.getMessage());
+        }
+    }
+    
+    public static Duration getImplicitWait() {
+        return IMPLICIT_WAIT;
+    }
+    
+    public static boolean isLeanProfile() {
+        return "lean".equalsIgnoreCase(BROWSER_PROFILE);
+    }
+    
+    public static List<String> getLeanBlockedUrls() {
+        return LEAN_BLOCKED_URLS;
+    }
+    
+    public static boolean isPoolEnabled() {
+        return POOL_SIZE > 0;
+    }
+    
+    public static void warmPool(String browserName) {
+        if (!isPoolEnabled()) {
+            return;
+        }
+        
+        String browser = browserName.toLowerCase();
+        BlockingQueue<WebDriver> idle = idleSessions.computeIfAbsent(browser, k -> new LinkedBlockingQueue<>());
+        AtomicInteger open = openSessions.computeIfAbsent(browser, k -> new AtomicInteger());
+        registerShutdownHook();
+        
+        long start = System.currentTimeMillis();
+        while (open.get() < POOL_SIZE) {
+            if (open.incrementAndGet() > POOL_SIZE) {
+                open.decrementAndGet();
+                break;
+            }
+            try {
+                idle.offer(createDriver(browser));
+            } catch (RuntimeException e) {
+                open.decrementAndGet();
+                System.out.println("⚠️ Could not warm pooled " + browser + " session: " + e.getMessage());
+                break;
+            }
+        }
+        System.out.println("🔥 Browser pool warmed: " + idle.size() + " " + browser + " session(s) in "
+            + (System.currentTimeMillis() - start) + " ms");
+    }
+    
+    public static void shutdownPool() {
+        int closed = 0;
+        for (Map.Entry<String, BlockingQueue<WebDriver>> entry : idleSessions.entrySet()) {
+            WebDriver driver;
+            while ((driver = entry.getValue().poll()) != null) {
+                quitQuietly(driver);
+                openSessions.get(entry.getKey()).decrementAndGet();
+                closed++;
+            }
+        }
+        if (closed > 0) {
+            System.out.println("🧹 Browser pool shut down: " + closed + " session(s) closed");
+        }
+    }
+    
+    private static WebDriver acquirePooledDriver(String browserName) {
+        String browser = browserName.toLowerCase();
+        BlockingQueue<WebDriver> idle = idleSessions.computeIfAbsent(browser, k -> new LinkedBlockingQueue<>());
+        AtomicInteger open = openSessions.computeIfAbsent(browser, k -> new AtomicInteger());
+        registerShutdownHook();
+        
+        try {
+            while (true) {
+                WebDriver driver = idle.poll();
+                if (driver == null) {
+                    // Grow lazily up to the pool size, otherwise wait for a session to come back
+                    if (open.incrementAndGet() <= POOL_SIZE) {
+                        try {
+                            return createDriver(browser);
+                        } catch (RuntimeException e) {
+                            open.decrementAndGet();
+                            throw e;
+                        }
+                    }
+                    open.decrementAndGet();
+                    driver = idle.poll(POOL_ACQUIRE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                    if (driver == null) {
+                        throw new IllegalStateException("Timed out waiting for a pooled " + browser + " session");
+                    }
+                }
+                
+                if (isHealthy(driver)) {
+                    return driver;
+                }
+                System.out.println("♻️ Discarding unhealthy pooled " + browser + " session");
+                quitQuietly(driver);
+                open.decrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a pooled " + browser + " session", e);
+        }
+    }
+    
+    private static void releasePooledDriver(String browser, WebDriver driver) {
+        BlockingQueue<WebDriver> idle = idleSessions.computeIfAbsent(browser, k -> new LinkedBlockingQueue<>());
+        AtomicInteger open = openSessions.computeIfAbsent(browser, k -> new AtomicInteger());
+        
+        if (resetSession(driver)) {
+            idle.offer(driver);
+        } else {
+            System.out.println("♻️ Pooled " + browser + " session could not be reset - replacing it");
+            quitQuietly(driver);
+            open.decrementAndGet();
+        }
+    }
+    
+    private static boolean resetSession(WebDriver driver) {
+        try {
+            // Close every tab except the first one
+            List<String> handles = new ArrayList<>(driver.getWindowHandles());
+            for (int i = 1; i < handles.size(); i++) {
+                driver.switchTo().window(handles.get(i));
+                driver.close();
+            }
+            driver.switchTo().window(handles.get(0));
+            
+            // Storage is per origin, so clear it before leaving the current page
+            try {
+                ((JavascriptExecutor) driver).executeScript(
+                    "try { window.localStorage.clear(); } catch (e) {}" +
+                    "try { window.sessionStorage.clear(); } catch (e) {}");
+            } catch (Exception e) {
+                // about:blank and similar pages have no storage
+            }
+            driver.manage().deleteAllCookies();
+            driver.get("about:blank");
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+    
+    private static boolean isHealthy(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+    
+    private static void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            // Session already gone
+        }
+    }
+    
+    private static synchronized void registerShutdownHook() {
+        if (!shutdownHookRegistered) {
+            Runtime.getRuntime().addShutdownHook(new Thread(DriverManager::shutdownPool));
+            shutdownHookRegistered = true;
         }
     }
     
     private static WebDriver createDriver(String browserName) {
         WebDriver driver;
+        boolean lean = isLeanProfile();
         
         switch (browserName.toLowerCase()) {
             case "chrome":
-                WebDriverManager.chromedriver().setup();
+                DriverBinaryCache.resolve("chrome");
                 ChromeOptions chromeOptions = new ChromeOptions();
                 chromeOptions.addArguments("--disable-blink-features=AutomationControlled");
                 chromeOptions.addArguments("--disable-extensions");
                 chromeOptions.addArguments("--no-sandbox");
                 chromeOptions.addArguments("--disable-dev-shm-usage");
-                driver = new ChromeDriver(chromeOptions);
+                if (lean) {
+                    chromeOptions.addArguments("--headless=new");
+                    chromeOptions.addArguments("--window-size=" + LEAN_VIEWPORT.replace('x', ','));
+                    chromeOptions.addArguments("--autoplay-policy=user-gesture-required");
+                    Map<String, Object> prefs = new HashMap<>();
+                    prefs.put("profile.managed_default_content_settings.images", 2);
+                    chromeOptions.setExperimentalOption("prefs", prefs);
+                }
+                ChromeDriver chromeDriver = new ChromeDriver(chromeOptions);
+                if (lean) {
+                    // Fonts, media and third-party hosts can only be blocked at the network layer
+                    Map<String, Object> blocked = new HashMap<>();
+                    blocked.put("urls", LEAN_BLOCKED_URLS);
+                    chromeDriver.executeCdpCommand("Network.enable", new HashMap<>());
+                    chromeDriver.executeCdpCommand("Network.setBlockedURLs", blocked);
+                }
+                driver = chromeDriver;
                 break;
                 
             case "firefox":
-                WebDriverManager.firefoxdriver().setup();
+                DriverBinaryCache.resolve("firefox");
                 FirefoxOptions firefoxOptions = new FirefoxOptions();
                 firefoxOptions.addArguments("--disable-blink-features=AutomationControlled");
+                if (lean) {
+                    // Firefox has no URL blocklist over WebDriver, so only asset types are disabled
+                    firefoxOptions.addArguments("-headless");
+                    firefoxOptions.addPreference("permissions.default.image", 2);
+                    firefoxOptions.addPreference("gfx.downloadable_fonts.enabled", false);
+                    firefoxOptions.addPreference("media.autoplay.default", 5);
+                }
                 driver = new FirefoxDriver(firefoxOptions);
                 break;
                 
@@ -53,10 +421,16 @@ public class DriverManager {
                 throw new IllegalArgumentException("Browser not supported: " + browserName);
         }
         
-        driver.manage().window().maximize();
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
+        if (lean) {
+            String[] size = LEAN_VIEWPORT.toLowerCase().split("x");
+            driver.manage().window().setSize(new Dimension(Integer.parseInt(size[0].trim()), Integer.parseInt(size[1].trim())));
+        } else {
+            driver.manage().window().maximize();
+        }
+        driver.manage().timeouts().implicitlyWait(IMPLICIT_WAIT);
         driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(30));
         
-        return driver;
+        // Time every element lookup so implicit-wait losses can be reported per test
+        return new EventFiringDecorator<>(new ImplicitWaitMonitor()).decorate(driver);
     }
 }
\ No newline at end of file
@@ -0,0 +1,98 @@
+package com.ziegler.aerospace.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+public class ElementCache {
+    // -Delement.cache=false resolves every element afresh
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("element.cache", "true"));
+    // Handles belong to one session, so they are kept per thread like the driver itself
+    private static final ThreadLocal<Map<String, List<WebElement>>> handles = ThreadLocal.withInitial(HashMap::new);
+    private static final ThreadLocal<long[]> stats = ThreadLocal.withInitial(() -> new long[3]);
+    
+    private static final int HITS = 0;
+    private static final int MISSES = 1;
+    private static final int STALE = 2;
+    
+    public static void reset() {
+        handles.get().clear();
+        stats.set(new long[3]);
+    }
+    
+    public static String getSummary() {
+        long[] s = stats.get();
+        return "Element cache: " + s[HITS] + " hit(s), " + s[MISSES] + " miss(es), " + s[STALE] + " stale re-resolve(s)";
+    }
+    
+    // Cached handles are returned without a liveness check; act on them through with()/withAll() to survive staleness
+    public static List<WebElement> findAll(WebDriver driver, String page, By locator) {
+        String key = key(page, locator);
+        List<WebElement> cached = ENABLED ? handles.get().get(key) : null;
+        if (cached != null) {
+            stats.get()[HITS]++;
+            return cached;
+        }
+        
+        stats.get()[MISSES]++;
+        List<WebElement> found = ElementProbe.findAll(driver, locator);
+        // Absence is never cached: the element may still be on its way
+        if (ENABLED && !found.isEmpty()) {
+            handles.get().put(key, found);
+        }
+        return found;
+    }
+    
+    public static WebElement find(WebDriver driver, String page, By locator) {
+        List<WebElement> found = findAll(driver, page, locator);
+        return found.isEmpty() ? null : found.get(0);
+    }
+    
+    // Seeds the cache with an element some other lookup (e.g. an explicit wait) already resolved
+    public static WebElement remember(String page, By locator, WebElement element) {
+        if (ENABLED && element != null) {
+            handles.get().put(key(page, locator), Collections.singletonList(element));
+        }
+        return element;
+    }
+    
+    public static <T> T with(WebDriver driver, String page, By locator, Function<WebElement, T> action) {
+        return withAll(driver, page, locator, elements -> {
+            if (elements.isEmpty()) {
+                throw new NoSuchElementException("No element matches " + locator);
+            }
+            return action.apply(elements.get(0));
+        });
+    }
+    
+    // Runs the action on the cached handles; if they went stale, re-resolves once and runs it again
+    public static <T> T withAll(WebDriver driver, String page, By locator, Function<List<WebElement>, T> action) {
+        try {
+            return action.apply(findAll(driver, page, locator));
+        } catch (StaleElementReferenceException e) {
+            stats.get()[STALE]++;
+            invalidate(page, locator);
+            return action.apply(findAll(driver, page, locator));
+        }
+    }
+    
+    public static void invalidate(String page, By locator) {
+        handles.get().remove(key(page, locator));
+    }
+    
+    // Call after navigating: every handle of the page belongs to the old document
+    public static void invalidate(String page) {
+        handles.get().keySet().removeIf(key -> key.startsWith(page + "|"));
+    }
+    
+    private static String key(String page, By locator) {
+        return page + "|" + locator;
+    }
+}
\ No newline at end of file
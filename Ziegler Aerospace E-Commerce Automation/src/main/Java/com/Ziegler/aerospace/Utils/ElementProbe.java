@@ -0,0 +1,71 @@
+package com.ziegler.aerospace.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+public class ElementProbe {
+    // Nesting depth per thread so nested probes don't re-send the timeout commands
+    private static final ThreadLocal<int[]> depth = ThreadLocal.withInitial(() -> new int[1]);
+    
+    public static <T> T probe(WebDriver driver, Supplier<T> lookup) {
+        int[] level = depth.get();
+        if (level[0]++ == 0) {
+            driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        }
+        try {
+            return lookup.get();
+        } finally {
+            if (--level[0] == 0) {
+                driver.manage().timeouts().implicitlyWait(DriverManager.getImplicitWait());
+            }
+        }
+    }
+    
+    public static boolean isProbing() {
+        return depth.get()[0] > 0;
+    }
+    
+    public static List<WebElement> findAll(WebDriver driver, By by) {
+        return findAll(driver, driver, by);
+    }
+    
+    public static List<WebElement> findAll(WebDriver driver, SearchContext context, By by) {
+        return probe(driver, () -> context.findElements(by));
+    }
+    
+    public static WebElement findFirst(WebDriver driver, By by) {
+        return findFirst(driver, driver, by);
+    }
+    
+    public static WebElement findFirst(WebDriver driver, SearchContext context, By by) {
+        List<WebElement> found = findAll(driver, context, by);
+        return found.isEmpty() ? null : found.get(0);
+    }
+    
+    // Same contract as findElement (throws when absent) but fails immediately instead of after the implicit wait
+    public static WebElement findNow(WebDriver driver, By by) {
+        return findNow(driver, driver, by);
+    }
+    
+    public static WebElement findNow(WebDriver driver, SearchContext context, By by) {
+        WebElement found = findFirst(driver, context, by);
+        if (found == null) {
+            throw new NoSuchElementException("No element matches " + by);
+        }
+        return found;
+    }
+    
+    public static boolean isPresent(WebDriver driver, By by) {
+        return !findAll(driver, by).isEmpty();
+    }
+    
+    public static boolean isAbsent(WebDriver driver, By by) {
+        return findAll(driver, by).isEmpty();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,146 @@
+package com.ziegler.aerospace.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+public class FormFiller {
+    public enum Mode { SCRIPT, TYPING }
+    
+    // -Dform.fill=typing sends real keystrokes for every form instead of setting values in one script
+    private static final Mode DEFAULT_MODE = "typing".equalsIgnoreCase(System.getProperty("form.fill"))
+        ? Mode.TYPING : Mode.SCRIPT;
+        
+    // Native value setter so framework-managed inputs see the change, then the events the store's validation listens for
+    private static final String FILL_SCRIPT =
+        "var fields = arguments[0], filled = [], skipped = [];" +
+        "for (var i = 0; i < fields.length; i++) {" +
+        "  var el = document.querySelector(fields[i][0]);" +
+        "  if (!el || !el.getClientRects().length || el.disabled || el.readOnly) { skipped.push(fields[i][0]); continue; }" +
+        "  var proto = el.tagName === 'TEXTAREA' ? HTMLTextAreaElement.prototype" +
+        "    : el.tagName === 'SELECT' ? HTMLSelectElement.prototype : HTMLInputElement.prototype;" +
+        "  el.focus();" +
+        "  Object.getOwnPropertyDescriptor(proto, 'value').set.call(el, fields[i][1]);" +
+        // A select given a value none of its options has ends up with no selection: report it, don't fire events
+        "  if (el.tagName === 'SELECT' && el.value !== fields[i][1]) { el.blur(); skipped.push(fields[i][0]); continue; }" +
+        "  el.dispatchEvent(new Event('input', { bubbles: true }));" +
+        "  el.dispatchEvent(new Event('change', { bubbles: true }));" +
+        "  el.blur();" +
+        "  filled.push(fields[i][0]);" +
+        "}" +
+        "return { filled: filled, skipped: skipped };";
+        
+    private final WebDriver driver;
+    private final List<String[]> fields = new ArrayList<>();
+    
+    public FormFiller(WebDriver driver) {
+        this.driver = driver;
+    }
+    
+    public FormFiller field(String selector, String value, String label) {
+        fields.add(new String[] {selector, value, label});
+        return this;
+    }
+    
+    public FillResult fill() {
+        return fill(DEFAULT_MODE);
+    }
+    
+    public FillResult fill(Mode mode) {
+        long start = System.currentTimeMillis();
+        FillResult result;
+        
+        if (mode == Mode.SCRIPT) {
+            try {
+                result = fillWithScript();
+            } catch (Exception e) {
+                System.out.println("⚠️ Batched fill failed, typing instead: " + e.getMessage());
+                result = fillByTyping();
+            }
+        } else {
+            result = fillByTyping();
+        }
+        
+        result.elapsedMillis = System.currentTimeMillis() - start;
+        for (String[] field : fields) {
+            if (result.filled.contains(field[0])) {
+                System.out.println("✏️ " + field[2] + ": " + field[1]);
+            }
+        }
+        System.out.println("📝 " + result);
+        return result;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private FillResult fillWithScript() {
+        List<List<String>> payload = new ArrayList<>();
+        for (String[] field : fields) {
+            payload.add(Arrays.asList(field[0], field[1]));
+        }
+        
+        Map<String, Object> outcome = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(
+            FILL_SCRIPT, payload);
+            
+        FillResult result = new FillResult(Mode.SCRIPT);
+        for (Object selector : (List<Object>) outcome.get("filled")) {
+            result.filled.add((String) selector);
+        }
+        for (Object selector : (List<Object>) outcome.get("skipped")) {
+            result.skipped.add((String) selector);
+        }
+        return result;
+    }
+    
+    private FillResult fillByTyping() {
+        FillResult result = new FillResult(Mode.TYPING);
+        
+        for (String[] field : fields) {
+            try {
+                // Forms are often cleared and refilled on the same page, so field handles are reused
+                boolean filled = ElementCache.with(driver, "form", By.cssSelector(field[0]), element -> {
+                    if (!element.isDisplayed() || !element.isEnabled()) {
+                        return false;
+                    }
+                    // Scroll to field
+                    ((JavascriptExecutor) driver).executeScript(
+                        "arguments[0].scrollIntoView(true);", element);
+                        
+                    element.clear();
+                    element.sendKeys(field[1]);
+                    return true;
+                });
+                (filled ? result.filled : result.skipped).add(field[0]);
+            } catch (Exception e) {
+                System.out.println("⚠️ Could not fill " + field[2] + ": " + e.getMessage());
+                result.skipped.add(field[0]);
+            }
+        }
+        return result;
+    }
+    
+    public static class FillResult {
+        private final Mode mode;
+        private final List<String> filled = new ArrayList<>();
+        private final List<String> skipped = new ArrayList<>();
+        private long elapsedMillis;
+        
+        private FillResult(Mode mode) {
+            this.mode = mode;
+        }
+        
+        public Mode getMode() { return mode; }
+        public List<String> getFilled() { return filled; }
+        public List<String> getSkipped() { return skipped; }
+        public long getElapsedMillis() { return elapsedMillis; }
+        
+        @Override
+        public String toString() {
+            return String.format("Filled %d/%d field(s) by %s in %d ms%s", filled.size(), filled.size() + skipped.size(),
+                mode.name().toLowerCase(), elapsedMillis, skipped.isEmpty() ? "" : " - skipped " + skipped);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,103 @@
+package com.ziegler.aerospace.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.List;
+
+public class ImplicitWaitMonitor implements WebDriverListener {
+    // Lookups that come back empty have paid the implicit wait in full (unless run through ElementProbe)
+    private static final ThreadLocal<Long> lookupStart = new ThreadLocal<>();
+    private static final ThreadLocal<long[]> stats = ThreadLocal.withInitial(() -> new long[3]);
+    
+    private static final int LOOKUPS = 0;
+    private static final int EMPTY_LOOKUPS = 1;
+    private static final int LOST_MILLIS = 2;
+    
+    public static void reset() {
+        stats.set(new long[3]);
+    }
+    
+    public static long getLostMillis() {
+        return stats.get()[LOST_MILLIS];
+    }
+    
+    public static String getSummary() {
+        long[] s = stats.get();
+        return "Implicit wait lost: " + s[LOST_MILLIS] + " ms on " + s[EMPTY_LOOKUPS]
+            + " empty lookup(s) out of " + s[LOOKUPS];
+    }
+    
+    @Override
+    public void beforeFindElement(WebDriver driver, By locator) {
+        start();
+    }
+    
+    @Override
+    public void afterFindElement(WebDriver driver, By locator, WebElement result) {
+        finish(false);
+    }
+    
+    @Override
+    public void beforeFindElements(WebDriver driver, By locator) {
+        start();
+    }
+    
+    @Override
+    public void afterFindElements(WebDriver driver, By locator, List<WebElement> result) {
+        finish(result.isEmpty());
+    }
+    
+    @Override
+    public void beforeFindElement(WebElement element, By locator) {
+        start();
+    }
+    
+    @Override
+    public void afterFindElement(WebElement element, By locator, WebElement result) {
+        finish(false);
+    }
+    
+    @Override
+    public void beforeFindElements(WebElement element, By locator) {
+        start();
+    }
+    
+    @Override
+    public void afterFindElements(WebElement element, By locator, List<WebElement> result) {
+        finish(result.isEmpty());
+    }
+    
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        if (method.getName().startsWith("findElement") && e.getTargetException() instanceof NoSuchElementException) {
+            finish(true);
+        }
+    }
+    
+    private static void start() {
+        // Probes run with no implicit wait, so they never cost a timeout
+        if (!ElementProbe.isProbing()) {
+            lookupStart.set(System.currentTimeMillis());
+        }
+    }
+    
+    private static void finish(boolean empty) {
+        Long start = lookupStart.get();
+        if (start == null) {
+            return;
+        }
+        lookupStart.remove();
+        
+        long[] s = stats.get();
+        s[LOOKUPS]++;
+        if (empty) {
+            s[EMPTY_LOOKUPS]++;
+            s[LOST_MILLIS] += System.currentTimeMillis() - start;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,249 @@
+package com.ziegler.aerospace.utils;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+public class LogPipeline {
+    public enum FullPolicy { BLOCK, DROP, INLINE }
+    
+    // -Dlog.async=false writes every record on the calling thread (the old behaviour)
+    private static final boolean ASYNC = Boolean.parseBoolean(System.getProperty("log.async", "true"));
+    private static final int CAPACITY = Integer.getInteger("log.queue.capacity", 8192);
+    // -Dlog.queue.full=block|drop|inline: wait for space, discard the record, or write it on the caller
+    private static final FullPolicy FULL_POLICY = fullPolicy(System.getProperty("log.queue.full", "block"));
+        
+    // Lock-free queue with a separate counter as the bound
+    private static final Queue<Record> queue = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger queued = new AtomicInteger();
+    private static final AtomicLong published = new AtomicLong();
+    private static final AtomicLong written = new AtomicLong();
+    private static final AtomicLong dropped = new AtomicLong();
+    private static final AtomicInteger pendingAttachments = new AtomicInteger();
+    private static final AtomicLong calls = new AtomicLong();
+    private static final AtomicLong callNanos = new AtomicLong();
+    private static final AtomicLong maxCallNanos = new AtomicLong();
+    private static final List<Sink> sinks = new CopyOnWriteArrayList<>();
+    // Sinks only ever see one thread at a time, whichever thread (consumer, inline or sync caller) is writing
+    private static final Object deliveryLock = new Object();
+    private static volatile Thread consumer;
+    private static volatile boolean consumerParked;
+    
+    static {
+        addSink(record -> {
+            if (record.message != null) {
+                System.out.println(record.message);
+            }
+        });
+        Runtime.getRuntime().addShutdownHook(new Thread(LogPipeline::flush));
+    }
+    
+    public interface Sink {
+        void write(Record record);
+    }
+    
+    // Writes straight onto the in-memory Extent nodes; ReportManager registers it only in -Dreport.mode=extent
+    public static final Sink EXTENT_SINK = LogPipeline::writeToExtent;
+    
+    public static void addSink(Sink sink) {
+        sinks.add(sink);
+    }
+    
+    // Console only
+    public static void console(String message) {
+        publish(new Record(null, null, message, null));
+    }
+    
+    // Extent node and console
+    public static void log(ExtentTest test, Status status, String message) {
+        publish(new Record(test, status, message, null));
+    }
+    
+    // Published once the writer finishes, so sinks never wait on disk while holding the delivery lock;
+    // the attachment may land after lines logged while it was being written
+    public static void attachScreenshot(ExtentTest test, CompletableFuture<String> screenshotPath) {
+        pendingAttachments.incrementAndGet();
+        screenshotPath.whenComplete((path, error) -> {
+            try {
+                if (error != null) {
+                    System.out.println("❌ Failed to attach screenshot to report: " + error.getMessage());
+                } else if (path != null) {
+                    publish(new Record(test, null, null, path));
+                }
+            } finally {
+                pendingAttachments.decrementAndGet();
+            }
+        });
+    }
+    
+    private static void publish(Record record) {
+        long start = System.nanoTime();
+        // Attachments are never dropped; they wait for room instead, on the writer thread that completed them
+        FullPolicy policy = FULL_POLICY == FullPolicy.DROP && record.screenshotPath != null
+            ? FullPolicy.BLOCK : FULL_POLICY;
+        
+        if (!ASYNC) {
+            synchronized (deliveryLock) {
+                deliver(record);
+            }
+        } else if (reserveSlot(policy)) {
+            queue.offer(record);
+            published.incrementAndGet();
+            startConsumer();
+            if (consumerParked) {
+                LockSupport.unpark(consumer);
+            }
+        } else if (policy == FullPolicy.DROP) {
+            dropped.incrementAndGet();
+        } else {
+            // Inline: drain what is already queued first so the node's entries keep their order
+            synchronized (deliveryLock) {
+                while (deliverNext()) {
+                    // keep draining
+                }
+                deliver(record);
+            }
+        }
+        
+        long elapsed = System.nanoTime() - start;
+        calls.incrementAndGet();
+        callNanos.addAndGet(elapsed);
+        maxCallNanos.accumulateAndGet(elapsed, Math::max);
+    }
+    
+    private static boolean reserveSlot(FullPolicy policy) {
+        while (true) {
+            if (queued.incrementAndGet() <= CAPACITY) {
+                return true;
+            }
+            queued.decrementAndGet();
+            if (policy != FullPolicy.BLOCK) {
+                return false;
+            }
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+        }
+    }
+    
+    private static void startConsumer() {
+        if (consumer == null) {
+            synchronized (LogPipeline.class) {
+                if (consumer == null) {
+                    Thread thread = new Thread(LogPipeline::consume, "log-pipeline");
+                    thread.setDaemon(true);
+                    thread.start();
+                    consumer = thread;
+                }
+            }
+        }
+    }
+    
+    private static void consume() {
+        while (true) {
+            if (!deliverNext()) {
+                consumerParked = true;
+                // Re-check after announcing the park so a publish in between is not missed
+                if (queue.isEmpty()) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+                }
+                consumerParked = false;
+            }
+        }
+    }
+    
+    // Taking and writing a record under one lock keeps queue order even when an inline caller is draining too
+    private static boolean deliverNext() {
+        synchronized (deliveryLock) {
+            Record record = queue.poll();
+            if (record == null) {
+                return false;
+            }
+            queued.decrementAndGet();
+            deliver(record);
+            written.incrementAndGet();
+            return true;
+        }
+    }
+    
+    private static void deliver(Record record) {
+        for (Sink sink : sinks) {
+            try {
+                sink.write(record);
+            } catch (Exception e) {
+                System.out.println("⚠️ Log sink failed: " + e.getMessage());
+            }
+        }
+    }
+    
+    private static void writeToExtent(Record record) {
+        if (record.test == null) {
+            return;
+        }
+        if (record.screenshotPath != null) {
+            record.test.addScreenCaptureFromPath(record.screenshotPath);
+        } else if (record.status != null) {
+            record.test.log(record.status, record.message);
+        }
+    }
+    
+    // Blocks until every pending attachment is published and everything published so far has reached every sink
+    public static void flush() {
+        long deadline = System.currentTimeMillis() + 30000;
+        while (pendingAttachments.get() > 0 && System.currentTimeMillis() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        if (consumer == null) {
+            return;
+        }
+        long target = published.get();
+        while (written.get() < target && System.currentTimeMillis() < deadline) {
+            LockSupport.unpark(consumer);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+    
+    private static FullPolicy fullPolicy(String value) {
+        try {
+            return FullPolicy.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.out.println("⚠️ Unknown -Dlog.queue.full=" + value + ", using block");
+            return FullPolicy.BLOCK;
+        }
+    }
+    
+    public static String getSummary() {
+        long count = calls.get();
+        return String.format("%d log call(s) (%s): %.1f µs avg, %.1f µs max on the test thread%s",
+            count, ASYNC ? "async, " + FULL_POLICY.name().toLowerCase() + " when full" : "sync",
+            count == 0 ? 0.0 : callNanos.get() / 1000.0 / count,
+            maxCallNanos.get() / 1000.0,
+            dropped.get() == 0 ? "" : ", " + dropped.get() + " dropped");
+    }
+    
+    public static class Record {
+        private final ExtentTest test;
+        private final Status status;
+        private final String message;
+        // Always a file already on disk; attachScreenshot publishes only after the write completed
+        private final String screenshotPath;
+        
+        private Record(ExtentTest test, Status status, String message, String screenshotPath) {
+            this.test = test;
+            this.status = status;
+            this.message = message;
+            this.screenshotPath = screenshotPath;
+        }
+        
+        public ExtentTest getTest() { return test; }
+        public Status getStatus() { return status; }
+        public String getMessage() { return message; }
+        public String getScreenshotPath() { return screenshotPath; }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,120 @@
+package com.ziegler.aerospace.utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class PageWeightTracker {
+    private static final String BASELINE_FILE = "testdata/page_weight_baseline.properties";
+    private static final Map<String, long[]> fullProfileBaseline = new ConcurrentHashMap<>();
+    private static final AtomicLong pagesMeasured = new AtomicLong();
+    private static final AtomicLong totalBytesSaved = new AtomicLong();
+    private static final AtomicLong totalRequestsSaved = new AtomicLong();
+    
+    // Resource Timing covers every request that actually went over the wire for this document
+    private static final String MEASURE_SCRIPT =
+        "var nav = performance.getEntriesByType('navigation')[0];" +
+        "var res = performance.getEntriesByType('resource');" +
+        "var bytes = nav ? (nav.transferSize || 0) : 0;" +
+        "for (var i = 0; i < res.length; i++) { bytes += res[i].transferSize || 0; }" +
+        "var fonts = 0;" +
+        "if (document.fonts) { document.fonts.forEach(function(f) { if (f.status !== 'loaded') fonts++; }); }" +
+        "var params = new URLSearchParams(location.search);" +
+        "return { page: params.get('rt') || location.pathname, requests: res.length + 1, bytes: bytes," +
+        "  images: document.querySelectorAll('img[src]').length, fonts: fonts };";
+        
+    static {
+        loadBaseline();
+    }
+    
+    public static void recordPageLoad(WebDriver driver) {
+        try {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> stats = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(MEASURE_SCRIPT);
+            String page = String.valueOf(stats.get("page"));
+            long requests = ((Number) stats.get("requests")).longValue();
+            long bytes = ((Number) stats.get("bytes")).longValue();
+            
+            if (!DriverManager.isLeanProfile()) {
+                fullProfileBaseline.put(page, new long[] {requests, bytes});
+                return;
+            }
+            
+            pagesMeasured.incrementAndGet();
+            String savings = "no full-profile baseline yet";
+            long[] baseline = fullProfileBaseline.get(page);
+            if (baseline != null) {
+                long requestsSaved = Math.max(0, baseline[0] - requests);
+                long bytesSaved = Math.max(0, baseline[1] - bytes);
+                totalRequestsSaved.addAndGet(requestsSaved);
+                totalBytesSaved.addAndGet(bytesSaved);
+                savings = "saved " + requestsSaved + " requests, " + formatBytes(bytesSaved);
+            }
+            
+            System.out.println("🪶 Lean page load [" + page + "]: " + requests + " requests, " + formatBytes(bytes)
+                + " | " + savings + " (blocked in DOM: " + stats.get("images") + " images, "
+                + stats.get("fonts") + " fonts)");
+                
+        } catch (Exception e) {
+            System.out.println("⚠️ Could not measure page weight: " + e.getMessage());
+        }
+    }
+    
+    public static void printSummary() {
+        if (DriverManager.isLeanProfile() && pagesMeasured.get() > 0) {
+            System.out.println("🪶 Lean profile saved " + totalRequestsSaved.get() + " requests and "
+                + formatBytes(totalBytesSaved.get()) + " across " + pagesMeasured.get() + " page loads");
+        }
+        saveBaseline();
+    }
+    
+    private static void loadBaseline() {
+        File file = new File(BASELINE_FILE);
+        if (!file.exists()) {
+            return;
+        }
+        
+        Properties props = new Properties();
+        try (FileReader reader = new FileReader(file)) {
+            props.load(reader);
+            for (String page : props.stringPropertyNames()) {
+                String[] parts = props.getProperty(page).split(",");
+                fullProfileBaseline.put(page, new long[] {Long.parseLong(parts[0]), Long.parseLong(parts[1])});
+            }
+        } catch (IOException | RuntimeException e) {
+            System.out.println("⚠️ Could not load page weight baseline: " + e.getMessage());
+        }
+    }
+    
+    private static void saveBaseline() {
+        if (fullProfileBaseline.isEmpty()) {
+            return;
+        }
+        
+        Properties props = new Properties();
+        for (Map.Entry<String, long[]> entry : fullProfileBaseline.entrySet()) {
+            props.setProperty(entry.getKey(), entry.getValue()[0] + "," + entry.getValue()[1]);
+        }
+        
+        new File(BASELINE_FILE).getParentFile().mkdirs();
+        try (FileWriter writer = new FileWriter(BASELINE_FILE)) {
+            props.store(writer, "Full-profile requests,bytes per page route");
+        } catch (IOException e) {
+            System.out.println("⚠️ Could not save page weight baseline: " + e.getMessage());
+        }
+    }
+    
+    private static String formatBytes(long bytes) {
+        if (bytes >= 1024 * 1024) {
+            return String.format("%.1f MB", bytes / (1024.0 * 1024.0));
+        }
+        return String.format("%.1f KB", bytes / 1024.0);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,203 @@
+package com.ziegler.aerospace.utils;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ReportJournal implements LogPipeline.Sink {
+    // One JSON object per line, appended as events happen; the HTML report is rebuilt from it afterwards
+    private static final long FSYNC_MILLIS = Long.getLong("report.fsync.millis", 1000);
+    private static final Json JSON = new Json();
+    
+    private final String path;
+    private final FileChannel channel;
+    private final Set<Long> startedTests = ConcurrentHashMap.newKeySet();
+    private long lastSync = System.currentTimeMillis();
+    
+    private ReportJournal(String path) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(Paths.get(path),
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+    
+    public static ReportJournal open(String path, Map<String, String> systemInfo) throws IOException {
+        ReportJournal journal = new ReportJournal(path);
+        Map<String, Object> event = event("run");
+        event.put("system", systemInfo);
+        journal.append(event);
+        return journal;
+    }
+    
+    public String getPath() {
+        return path;
+    }
+    
+    // LogPipeline delivers to sinks one thread at a time; the set is concurrent anyway since that thread varies
+    @Override
+    public void write(LogPipeline.Record record) {
+        ExtentTest test = record.getTest();
+        if (test == null) {
+            return;
+        }
+        
+        long id = test.getModel().getId();
+        if (startedTests.add(id)) {
+            Map<String, Object> started = event("test");
+            started.put("id", id);
+            started.put("name", test.getModel().getName());
+            started.put("description", test.getModel().getDescription());
+            append(started);
+        }
+        
+        // Paths arrive resolved, so journaling a screenshot never waits on the writer pool inside the delivery lock
+        if (record.getScreenshotPath() != null) {
+            Map<String, Object> event = event("screenshot");
+            event.put("id", id);
+            event.put("path", record.getScreenshotPath());
+            append(event);
+        } else if (record.getStatus() != null) {
+            Map<String, Object> event = event("log");
+            event.put("id", id);
+            event.put("status", record.getStatus().name());
+            event.put("message", record.getMessage());
+            append(event);
+        }
+    }
+    
+    public synchronized void close() {
+        if (!channel.isOpen()) {
+            return;
+        }
+        
+        try {
+            append(event("end"));
+            channel.force(false);
+            channel.close();
+        } catch (IOException e) {
+            System.out.println("⚠️ Could not close report journal: " + e.getMessage());
+        }
+    }
+    
+    private synchronized void append(Map<String, Object> event) {
+        if (!channel.isOpen()) {
+            return;
+        }
+        
+        StringBuilder line = new StringBuilder();
+        try (JsonOutput out = JSON.newOutput(line)) {
+            out.setPrettyPrint(false).write(event);
+        }
+        line.append('\n');
+        
+        try {
+            // Each write reaches the OS at once; fsync bounds what an OS crash can lose. Records still queued in
+            // LogPipeline when the JVM is killed never get here (-Dlog.async=false writes them on the caller)
+            channel.write(ByteBuffer.wrap(line.toString().getBytes(StandardCharsets.UTF_8)));
+            long now = System.currentTimeMillis();
+            if (now - lastSync >= FSYNC_MILLIS) {
+                channel.force(false);
+                lastSync = now;
+            }
+        } catch (IOException e) {
+            System.out.println("⚠️ Could not append to report journal: " + e.getMessage());
+        }
+    }
+    
+    private static Map<String, Object> event(String type) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("type", type);
+        event.put("time", System.currentTimeMillis());
+        return event;
+    }
+    
+    // Rebuild the HTML of a run that never reached flushReports(): <journal.jsonl> [report.html]
+    public static void main(String[] args) {
+        String journal = args[0];
+        String html = args.length > 1 ? args[1] : journal.replaceAll("\\.jsonl$", "") + ".html";
+        new Rebuilder(journal, html).catchUp();
+        System.out.println("📊 Report rebuilt: " + html);
+    }
+    
+    // Reads only what was appended since the last call; a torn last line (crash) is left for the next one
+    public static class Rebuilder {
+        private final String journalPath;
+        private final ExtentReports extent = new ExtentReports();
+        private final Map<Long, ExtentTest> tests = new HashMap<>();
+        private long offset;
+        
+        public Rebuilder(String journalPath, String htmlPath) {
+            this.journalPath = journalPath;
+            extent.attachReporter(ReportManager.newSparkReporter(htmlPath));
+        }
+        
+        public Rebuilder catchUp() {
+            try (RandomAccessFile file = new RandomAccessFile(journalPath, "r")) {
+                file.seek(offset);
+                byte[] chunk = new byte[64 * 1024];
+                ByteArrayOutputStream line = new ByteArrayOutputStream();
+                long position = offset;
+                int read;
+                
+                while ((read = file.read(chunk)) > 0) {
+                    for (int i = 0; i < read; i++) {
+                        position++;
+                        if (chunk[i] == '\n') {
+                            apply(new String(line.toByteArray(), StandardCharsets.UTF_8));
+                            line.reset();
+                            offset = position;
+                        } else {
+                            line.write(chunk[i]);
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                System.out.println("⚠️ Could not read report journal: " + e.getMessage());
+            }
+            
+            extent.flush();
+            return this;
+        }
+        
+        @SuppressWarnings("unchecked")
+        private void apply(String line) {
+            Map<String, Object> event;
+            try {
+                event = JSON.toType(line, Json.MAP_TYPE);
+            } catch (Exception e) {
+                return;
+            }
+            
+            String type = String.valueOf(event.get("type"));
+            Object rawId = event.get("id");
+            Long id = rawId instanceof Number ? ((Number) rawId).longValue() : null;
+            
+            if ("run".equals(type) && event.get("system") instanceof Map) {
+                ((Map<String, Object>) event.get("system")).forEach((key, value) ->
+                    extent.setSystemInfo(key, String.valueOf(value)));
+            } else if ("test".equals(type)) {
+                tests.put(id, extent.createTest(String.valueOf(event.get("name")),
+                    event.get("description") == null ? "" : String.valueOf(event.get("description"))));
+            } else if ("log".equals(type) && tests.containsKey(id)) {
+                tests.get(id).log(Status.valueOf(String.valueOf(event.get("status"))),
+                    String.valueOf(event.get("message")));
+            } else if ("screenshot".equals(type) && tests.containsKey(id)) {
+                tests.get(id).addScreenCaptureFromPath(String.valueOf(event.get("path")));
+            }
+        }
+    }
+}
\ No newline at end of file
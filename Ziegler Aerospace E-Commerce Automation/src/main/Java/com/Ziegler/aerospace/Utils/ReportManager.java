@@ -5,24 +5,28 @@ import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.Status;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
 import com.aventstack.extentreports.reporter.configuration.Theme;
-import org.openqa.selenium.OutputType;
-import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
 
 public class ReportManager {
-    private static ExtentReports extent;
+    private static volatile ExtentReports extent;
     private static ThreadLocal<ExtentTest> test = new ThreadLocal<>();
     private static final String REPORT_PATH = "reports/";
     private static final String SCREENSHOT_PATH = "screenshots/";
-    private static String reportFileName;
+    private static volatile String reportFileName;
+    // -Dreport.mode=stream|extent: journal every event to JSON Lines and build the HTML from it, or keep it all in Extent until the end
+    private static final boolean STREAMING = !"extent".equalsIgnoreCase(System.getProperty("report.mode", "stream"));
+    private static volatile ReportJournal journal;
+    private static volatile ReportJournal.Rebuilder rebuilder;
     
-    public static void initReports() {
+    public static synchronized void initReports() {
         if (extent == null) {
             System.out.println("📊 Initializing Ziegler Aerospace test reporting system...");
             
@@ -34,96 +38,150 @@ public class ReportManager {
                 DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss"));
             
             reportFileName = REPORT_PATH + "ZieglerAerospace_TestReport_" + timestamp + ".html";
-            ExtentSparkReporter sparkReporter = new ExtentSparkReporter(reportFileName);
-            
-            // Configure report appearance
-            sparkReporter.config().setTheme(Theme.STANDARD);
-            sparkReporter.config().setDocumentTitle("Ziegler Aerospace - E-Commerce Automation Report");
-            sparkReporter.config().setReportName("🚀 Automation Test Results - E-Commerce Workflow");
-            sparkReporter.config().setEncoding("utf-8");
-            
             extent = new ExtentReports();
-            extent.attachReporter(sparkReporter);
             
-            // Add comprehensive system information
-            extent.setSystemInfo("🏢 Company", "Ziegler Aerospace");
-            extent.setSystemInfo("🎯 Application", "E-Commerce Workflow Testing");
-            extent.setSystemInfo("🌐 Test Site", "https://automationteststore.com/");
-            extent.setSystemInfo("🔧 Framework", "Selenium WebDriver + Java");
-            extent.setSystemInfo("📋 Test Framework", "TestNG");
-            extent.setSystemInfo("🏗️ Design Pattern", "Page Object Model (POM)");
-            extent.setSystemInfo("🖥️ Environment", "Automated Testing Environment");
-            extent.setSystemInfo("👤 Executed By", System.getProperty("user.name"));
-            extent.setSystemInfo("☕ Java Version", System.getProperty("java.version"));
-            extent.setSystemInfo("💻 Operating System", System.getProperty("os.name"));
-            extent.setSystemInfo("⏰ Execution Time", LocalDateTime.now().format(
-                DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+            if (STREAMING) {
+                // Extent nodes only identify tests here; their entries live in the journal, not on the heap
+                try {
+                    journal = ReportJournal.open(reportFileName.replace(".html", ".jsonl"), systemInfo());
+                    LogPipeline.addSink(journal);
+                    // A run that never reaches flushReports() still gets its HTML
+                    Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                        if (rebuilder == null) {
+                            flushReports();
+                        }
+                    }));
+                    System.out.println("📝 Report journal: " + journal.getPath());
+                } catch (Exception e) {
+                    System.out.println("⚠️ Could not open report journal, keeping the report in memory: " + e.getMessage());
+                    journal = null;
+                }
+            }
+            
+            if (journal == null) {
+                extent.attachReporter(newSparkReporter(reportFileName));
+                systemInfo().forEach(extent::setSystemInfo);
+                LogPipeline.addSink(LogPipeline.EXTENT_SINK);
+            }
             
             System.out.println("✅ Report system initialized: " + reportFileName);
         }
     }
     
+    static ExtentSparkReporter newSparkReporter(String fileName) {
+        ExtentSparkReporter sparkReporter = new ExtentSparkReporter(fileName);
+        
+        // Configure report appearance
+        sparkReporter.config().setTheme(Theme.STANDARD);
+        sparkReporter.config().setDocumentTitle("Ziegler Aerospace - E-Commerce Automation Report");
+        sparkReporter.config().setReportName("🚀 Automation Test Results - E-Commerce Workflow");
+        sparkReporter.config().setEncoding("utf-8");
+        return sparkReporter;
+    }
+    
+    // Add comprehensive system information
+    private static Map<String, String> systemInfo() {
+        Map<String, String> info = new LinkedHashMap<>();
+        info.put("🏢 Company", "Ziegler Aerospace");
+        info.put("🎯 Application", "E-Commerce Workflow Testing");
+        info.put("🌐 Test Site", "https://automationteststore.com/");
+        info.put("🔧 Framework", "Selenium WebDriver + Java");
+        info.put("📋 Test Framework", "TestNG");
+        info.put("🏗️ Design Pattern", "Page Object Model (POM)");
+        info.put("🖥️ Environment", "Automated Testing Environment");
+        info.put("👤 Executed By", System.getProperty("user.name"));
+        info.put("☕ Java Version", System.getProperty("java.version"));
+        info.put("💻 Operating System", System.getProperty("os.name"));
+        info.put("⏰ Execution Time", LocalDateTime.now().format(
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+        return info;
+    }
+    
     public static void createTest(String testName, String description) {
-        ExtentTest extentTest = extent.createTest("🧪 " + testName, description);
+        ExtentTest extentTest;
+        synchronized (ReportManager.class) {
+            extentTest = extent.createTest("🧪 " + testName, description);
+        }
         test.set(extentTest);
         
-        System.out.println("\n" + "=".repeat(80));
-        System.out.println("🚀 STARTING TEST: " + testName);
-        System.out.println("📝 Description: " + description);
-        System.out.println("=".repeat(80));
+        LogPipeline.console("\n" + "=".repeat(80) + "\n🚀 STARTING TEST: " + testName
+            + "\n📝 Description: " + description + "\n" + "=".repeat(80));
+    }
+    
+    public static boolean hasActiveTest() {
+        return test.get() != null;
     }
     
+    // Extent and console writes happen on LogPipeline's consumer thread, not the browser-driving one
     public static void logInfo(String message) {
-        test.get().log(Status.INFO, "ℹ️ " + message);
-        System.out.println("ℹ️ " + message);
+        LogPipeline.log(test.get(), Status.INFO, "ℹ️ " + message);
     }
     
     public static void logPass(String message) {
-        test.get().log(Status.PASS, "✅ " + message);
-        System.out.println("✅ " + message);
+        LogPipeline.log(test.get(), Status.PASS, "✅ " + message);
     }
     
     public static void logFail(String message) {
-        test.get().log(Status.FAIL, "❌ " + message);
-        System.out.println("❌ " + message);
+        LogPipeline.log(test.get(), Status.FAIL, "❌ " + message);
+        attachRecentSteps();
     }
     
     public static void logWarning(String message) {
-        test.get().log(Status.WARNING, "⚠️ " + message);
-        System.out.println("⚠️ " + message);
+        LogPipeline.log(test.get(), Status.WARNING, "⚠️ " + message);
     }
     
+    // Each step also keeps an in-memory frame; it only reaches disk if the test fails
     public static void logStep(String stepDescription) {
-        test.get().log(Status.INFO, "🔄 STEP: " + stepDescription);
-        System.out.println("🔄 STEP: " + stepDescription);
+        StepRecorder.record(DriverManager.getDriver(), stepDescription);
+        LogPipeline.log(test.get(), Status.INFO, "🔄 STEP: " + stepDescription);
+    }
+    
+    public static void attachRecentSteps() {
+        StepRecorder.attachTo(test.get(), SCREENSHOT_PATH);
     }
     
     public static String captureScreenshot(WebDriver driver, String testName) {
+        Future<String> screenshotPath = captureScreenshotAsync(driver, testName);
+        if (screenshotPath == null) {
+            return null;
+        }
         try {
-            TakesScreenshot screenshot = (TakesScreenshot) driver;
-            byte[] sourceFile = screenshot.getScreenshotAs(OutputType.BYTES);
-            
-            String timestamp = LocalDateTime.now().format(
-                DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss-SSS"));
-            String fileName = testName.replaceAll("[^a-zA-Z0-9]", "_") + "_" + timestamp + ".png";
-            String filePath = SCREENSHOT_PATH + fileName;
-            
-            Files.write(Paths.get(filePath), sourceFile);
-            
-            System.out.println("📸 Screenshot captured: " + fileName);
-            return filePath;
+            return screenshotPath.get();
+        } catch (Exception e) {
+            System.out.println("❌ Failed to capture screenshot: " + e.getMessage());
+            return null;
+        }
+    }
+    
+    public static CompletableFuture<String> captureScreenshotAsync(WebDriver driver, String testName) {
+        return captureScreenshotAsync(driver, testName, null);
+    }
+    
+    // Only the browser round-trip happens here; hashing and writing go to ScreenshotWriter
+    public static CompletableFuture<String> captureScreenshotAsync(WebDriver driver, String testName, By clip) {
+        try {
+            ScreenshotCapture.Frame frame = ScreenshotCapture.capture(driver, clip);
+            if (frame == null) {
+                return null;
+            }
+            return ScreenshotWriter.submit(frame.getBytes(), SCREENSHOT_PATH, testName, frame.getExtension());
             
-        } catch (IOException e) {
+        } catch (Exception e) {
             System.out.println("❌ Failed to capture screenshot: " + e.getMessage());
             return null;
         }
     }
     
     public static void attachScreenshot(WebDriver driver, String testName) {
-        String screenshotPath = captureScreenshot(driver, testName);
+        attachScreenshot(driver, testName, null);
+    }
+    
+    // clip limits the image to one element, e.g. the cart table
+    public static void attachScreenshot(WebDriver driver, String testName, By clip) {
+        CompletableFuture<String> screenshotPath = captureScreenshotAsync(driver, testName, clip);
         if (screenshotPath != null) {
             try {
-                test.get().addScreenCaptureFromPath(screenshotPath);
+                LogPipeline.attachScreenshot(test.get(), screenshotPath);
                 logInfo("Screenshot attached to report");
             } catch (Exception e) {
                 System.out.println("❌ Failed to attach screenshot to report: " + e.getMessage());
@@ -146,13 +204,39 @@ public class ReportManager {
         logInfo(productInfo);
     }
     
-    public static void flushReports() {
+    public static String getReportFileName() {
+        return reportFileName;
+    }
+    
+    public static String getScreenshotPath() {
+        return SCREENSHOT_PATH;
+    }
+    
+    public static synchronized void flushReports() {
         if (extent != null) {
-            extent.flush();
+            // Every screenshot must be on disk and every queued line written before the HTML is built
+            ScreenshotWriter.awaitAll();
+            LogPipeline.flush();
+            if (journal != null) {
+                journal.close();
+                // Kept between calls so a second flush only reads what was appended since the first
+                if (rebuilder == null) {
+                    rebuilder = new ReportJournal.Rebuilder(journal.getPath(), reportFileName);
+                }
+                rebuilder.catchUp();
+            } else {
+                extent.flush();
+            }
             System.out.println("\n" + "=".repeat(80));
             System.out.println("📊 REPORT GENERATION COMPLETED");
             System.out.println("📁 Report Location: " + reportFileName);
+            if (journal != null) {
+                System.out.println("📝 Report Journal: " + journal.getPath());
+            }
             System.out.println("📸 Screenshots: " + SCREENSHOT_PATH);
+            System.out.println("📝 " + LogPipeline.getSummary());
+            System.out.println("📸 " + ScreenshotCapture.getSummary());
+            System.out.println("📸 " + ScreenshotWriter.getSummary());
             System.out.println("=".repeat(80));
         }
     }
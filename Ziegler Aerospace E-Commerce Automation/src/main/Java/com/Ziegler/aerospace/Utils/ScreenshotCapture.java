@@ -0,0 +1,233 @@
+package com.ziegler.aerospace.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ScreenshotCapture {
+    // -Dscreenshot.format=png|jpeg|webp, -Dscreenshot.quality (1-100, lossy formats), -Dscreenshot.scale (0.1-1.0)
+    private static final String FORMAT = System.getProperty("screenshot.format", "jpeg").toLowerCase();
+    private static final int QUALITY = Integer.getInteger("screenshot.quality", 80);
+    private static final double SCALE = Double.parseDouble(System.getProperty("screenshot.scale", "1.0"));
+    // Per run: past half the budget quality drops, past three quarters frames are halved, at the end they are skipped
+    private static final long BUDGET_BYTES = Long.getLong("screenshot.budget.mb", 200) * 1024 * 1024;
+    private static final int MIN_QUALITY = 30;
+    
+    // Scroll offset and viewport size, needed to scale a full-viewport capture through a clip
+    private static final String VIEWPORT_SCRIPT =
+        "return [window.scrollX, window.scrollY, window.innerWidth, window.innerHeight];";
+        
+    private static final AtomicLong usedBytes = new AtomicLong();
+    private static final AtomicLong frames = new AtomicLong();
+    private static final AtomicLong degraded = new AtomicLong();
+    private static final AtomicLong dropped = new AtomicLong();
+    private static final AtomicLong captureMillis = new AtomicLong();
+    
+    public static Frame capture(WebDriver driver) {
+        return capture(driver, null);
+    }
+    
+    // clip: an element to capture on its own, or null for the viewport; returns null once the budget is spent
+    public static Frame capture(WebDriver driver, By clip) {
+        double used = (double) usedBytes.get() / BUDGET_BYTES;
+        if (used >= 1.0) {
+            dropped.incrementAndGet();
+            System.out.println("📸 Screenshot budget of " + (BUDGET_BYTES / 1024 / 1024) + " MB spent - frame skipped");
+            return null;
+        }
+        
+        String format = FORMAT;
+        int quality = QUALITY;
+        double scale = SCALE;
+        if (used >= 0.5) {
+            format = "png".equals(format) ? "jpeg" : format;
+            quality = Math.max(MIN_QUALITY, (int) (QUALITY * (1.0 - used) * 2));
+            scale = used >= 0.75 ? SCALE / 2 : SCALE;
+            degraded.incrementAndGet();
+        }
+        
+        Frame frame = captureWith(driver, clip, format, quality, scale);
+        charge(frame);
+        System.out.println("📸 " + frame);
+        return frame;
+    }
+    
+    // For frames held in memory (StepRecorder): configured settings, nothing counted until charge() when written
+    public static Frame captureUnbudgeted(WebDriver driver) {
+        return captureWith(driver, null, FORMAT, QUALITY, SCALE);
+    }
+    
+    public static void charge(Frame frame) {
+        usedBytes.addAndGet(frame.bytes.length);
+        frames.incrementAndGet();
+        captureMillis.addAndGet(frame.millis);
+    }
+    
+    private static Frame captureWith(WebDriver driver, By clip, String format, int quality, double scale) {
+        long start = System.currentTimeMillis();
+        Frame frame = null;
+        HasCdp cdp = findCdp(driver);
+        if (cdp != null) {
+            try {
+                frame = captureNative(driver, cdp, clip, format, quality, scale);
+            } catch (Exception e) {
+                System.out.println("⚠️ Native capture failed, using WebDriver screenshot: " + e.getMessage());
+            }
+        }
+        if (frame == null) {
+            frame = captureAndEncode(driver, clip, format, quality, scale);
+        }
+        frame.millis = System.currentTimeMillis() - start;
+        return frame;
+    }
+    
+    // Chromium encodes JPEG/WebP and applies clip and scale itself - no PNG round-trip
+    @SuppressWarnings("unchecked")
+    private static Frame captureNative(WebDriver driver, HasCdp cdp, By clip, String format, int quality, double scale) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("format", format);
+        if (!"png".equals(format)) {
+            params.put("quality", quality);
+        }
+        
+        Map<String, Object> region = null;
+        if (clip != null) {
+            Rectangle rect = ElementProbe.findNow(driver, clip).getRect();
+            region = clipRegion(rect.getX(), rect.getY(), rect.getWidth(), rect.getHeight(), scale);
+            params.put("captureBeyondViewport", true);
+        } else if (scale != 1.0) {
+            List<Number> viewport = (List<Number>) ((JavascriptExecutor) driver).executeScript(VIEWPORT_SCRIPT);
+            region = clipRegion(viewport.get(0), viewport.get(1), viewport.get(2), viewport.get(3), scale);
+        }
+        if (region != null) {
+            params.put("clip", region);
+        }
+        
+        Map<String, Object> result = cdp.executeCdpCommand("Page.captureScreenshot", params);
+        byte[] bytes = Base64.getDecoder().decode((String) result.get("data"));
+        return new Frame(bytes, "jpeg".equals(format) ? "jpg" : format, quality, scale, clip, true);
+    }
+    
+    private static Map<String, Object> clipRegion(Number x, Number y, Number width, Number height, double scale) {
+        Map<String, Object> region = new HashMap<>();
+        region.put("x", x);
+        region.put("y", y);
+        region.put("width", width);
+        region.put("height", height);
+        region.put("scale", scale);
+        return region;
+    }
+    
+    // Other browsers: WebDriver's PNG, re-encoded here (ImageIO has no WebP writer, so WebP falls back to JPEG)
+    private static Frame captureAndEncode(WebDriver driver, By clip, String format, int quality, double scale) {
+        byte[] png = clip != null
+            ? ElementProbe.findNow(driver, clip).getScreenshotAs(OutputType.BYTES)
+            : ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+            
+        if ("png".equals(format) && scale == 1.0) {
+            return new Frame(png, "png", 100, scale, clip, false);
+        }
+        
+        try {
+            BufferedImage source = ImageIO.read(new ByteArrayInputStream(png));
+            int width = Math.max(1, (int) (source.getWidth() * scale));
+            int height = Math.max(1, (int) (source.getHeight() * scale));
+            BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = image.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(source, 0, 0, width, height, null);
+            graphics.dispose();
+            
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            if ("png".equals(format)) {
+                ImageIO.write(image, "png", out);
+                return new Frame(out.toByteArray(), "png", 100, scale, clip, false);
+            }
+            
+            ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality / 100f);
+            try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+                writer.setOutput(stream);
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            return new Frame(out.toByteArray(), "jpg", quality, scale, clip, false);
+            
+        } catch (Exception e) {
+            System.out.println("⚠️ Could not re-encode screenshot, keeping PNG: " + e.getMessage());
+            return new Frame(png, "png", 100, 1.0, clip, false);
+        }
+    }
+    
+    // The driver is wrapped by EventFiringDecorator; the CDP interface may sit on the proxy or the original
+    private static HasCdp findCdp(WebDriver driver) {
+        WebDriver current = driver;
+        while (current != null) {
+            if (current instanceof HasCdp) {
+                return (HasCdp) current;
+            }
+            current = current instanceof WrapsDriver ? ((WrapsDriver) current).getWrappedDriver() : null;
+        }
+        return null;
+    }
+    
+    public static String getSummary() {
+        long count = frames.get();
+        return String.format("Screenshot capture: %d frame(s), %d KB, %d ms avg%s%s", count, usedBytes.get() / 1024,
+            count == 0 ? 0 : captureMillis.get() / count,
+            degraded.get() == 0 ? "" : ", " + degraded.get() + " degraded",
+            dropped.get() == 0 ? "" : ", " + dropped.get() + " skipped over budget");
+    }
+    
+    public static class Frame {
+        private final byte[] bytes;
+        private final String extension;
+        private final int quality;
+        private final double scale;
+        private final By clip;
+        private final boolean nativeCapture;
+        private long millis;
+        
+        private Frame(byte[] bytes, String extension, int quality, double scale, By clip, boolean nativeCapture) {
+            this.bytes = bytes;
+            this.extension = extension;
+            this.quality = quality;
+            this.scale = scale;
+            this.clip = clip;
+            this.nativeCapture = nativeCapture;
+        }
+        
+        public byte[] getBytes() { return bytes; }
+        public String getExtension() { return extension; }
+        public long getMillis() { return millis; }
+        
+        @Override
+        public String toString() {
+            return String.format("%s q%d x%.2f%s via %s in %d ms, %d KB", extension, quality, scale,
+                clip != null ? " [" + clip + "]" : "", nativeCapture ? "CDP" : "WebDriver", millis, bytes.length / 1024);
+        }
+    }
+}
\ No newline at end of file
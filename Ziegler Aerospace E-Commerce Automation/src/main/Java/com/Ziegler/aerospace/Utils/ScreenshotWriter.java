@@ -0,0 +1,135 @@
+package com.ziegler.aerospace.utils;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+public class ScreenshotWriter {
+    // Hashing and disk writes run here so the test thread only waits for the browser
+    private static final int WRITERS = Integer.getInteger("screenshot.writers", 2);
+    // Bytes handed off but not yet on disk; callers wait for room beyond this
+    private static final int BUDGET_KB = Integer.getInteger("screenshot.inflight.mb", 64) * 1024;
+    private static final Pattern UNSAFE_CHARS = Pattern.compile("[^a-zA-Z0-9]");
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss-SSS");
+    
+    private static final Semaphore budget = new Semaphore(BUDGET_KB);
+    private static final Map<String, String> pathsByHash = new ConcurrentHashMap<>();
+    private static final Queue<Future<String>> inFlight = new ConcurrentLinkedQueue<>();
+    private static final AtomicLong written = new AtomicLong();
+    private static final AtomicLong failed = new AtomicLong();
+    private static final AtomicLong duplicates = new AtomicLong();
+    private static final AtomicLong bytesSaved = new AtomicLong();
+    
+    private static final ExecutorService pool = Executors.newFixedThreadPool(WRITERS, runnable -> {
+        Thread thread = new Thread(runnable, "screenshot-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    // Returns at once; the future yields the file the frame ended up in (an earlier identical one if any)
+    // and can notify LogPipeline on completion instead of being waited on
+    public static CompletableFuture<String> submit(byte[] image, String directory, String testName, String extension) {
+        int kb = Math.min(BUDGET_KB, Math.max(1, image.length / 1024));
+        budget.acquireUninterruptibly(kb);
+        String timestamp = LocalDateTime.now().format(TIMESTAMP);
+        
+        CompletableFuture<String> result;
+        try {
+            result = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return write(image, directory, testName, timestamp, extension);
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                } finally {
+                    budget.release(kb);
+                }
+            }, pool);
+        } catch (RuntimeException e) {
+            budget.release(kb);
+            throw e;
+        }
+        inFlight.add(result);
+        reapFinished();
+        return result;
+    }
+    
+    // Finished writes leave the queue here, failures included, so none is dropped unreported
+    private static void reapFinished() {
+        for (Future<String> future : inFlight) {
+            // remove() decides which thread reports a future that several callers see finished
+            if (future.isDone() && inFlight.remove(future)) {
+                report(future);
+            }
+        }
+    }
+    
+    private static void report(Future<String> future) {
+        try {
+            future.get();
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            System.out.println("❌ Failed to write screenshot: " + cause.getMessage());
+        }
+    }
+    
+    private static String write(byte[] image, String directory, String testName, String timestamp,
+                                String extension) throws Exception {
+        String hash = sha256(image);
+        String filePath = directory + UNSAFE_CHARS.matcher(testName).replaceAll("_") + "_" + timestamp + "." + extension;
+        
+        String existing = pathsByHash.putIfAbsent(hash, filePath);
+        if (existing != null) {
+            duplicates.incrementAndGet();
+            bytesSaved.addAndGet(image.length);
+            System.out.println("📸 Identical frame already stored: " + existing);
+            return existing;
+        }
+        
+        try {
+            Files.write(Paths.get(filePath), image);
+        } catch (Exception e) {
+            // Later identical frames must not point at a file that was never written
+            pathsByHash.remove(hash, filePath);
+            throw e;
+        }
+        written.incrementAndGet();
+        System.out.println("📸 Screenshot captured: " + filePath);
+        return filePath;
+    }
+    
+    // Called before the report is flushed so every attached path exists
+    public static void awaitAll() {
+        Future<String> next;
+        while ((next = inFlight.poll()) != null) {
+            report(next);
+        }
+    }
+    
+    public static String getSummary() {
+        return "Screenshots: " + written.get() + " written, " + duplicates.get() + " duplicate(s) skipped ("
+            + (bytesSaved.get() / 1024) + " KB)" + (failed.get() == 0 ? "" : ", " + failed.get() + " failed");
+    }
+    
+    private static String sha256(byte[] data) throws Exception {
+        StringBuilder hex = new StringBuilder();
+        for (byte b : MessageDigest.getInstance("SHA-256").digest(data)) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+}
\ No newline at end of file
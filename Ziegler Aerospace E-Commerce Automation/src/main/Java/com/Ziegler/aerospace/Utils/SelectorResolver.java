@@ -0,0 +1,210 @@
+package com.ziegler.aerospace.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+public class SelectorResolver {
+    // Remembers which fallback selector won per page + logical element, persisted across runs
+    private static final String CACHE_FILE = System.getProperty("selector.cache.file", "testdata/selector_cache.properties");
+    private static final String SEPARATOR = " || ";
+    private static final Map<String, String> winners = new ConcurrentHashMap<>();
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static final AtomicLong invalidations = new AtomicLong();
+    private static volatile boolean dirty = false;
+    
+    static {
+        load();
+    }
+    
+    // Every lookup runs inside one probe: implicit wait is dropped and restored once, not once per candidate
+    public static WebElement findFirst(WebDriver driver, String page, String element, String[] candidates,
+                                       Predicate<WebElement> accept) {
+        return ElementProbe.probe(driver, () -> scanFirst(driver, page, element, candidates, accept));
+    }
+    
+    public static WebElement findFirst(WebDriver driver, String page, String element, String[] candidates) {
+        return findFirst(driver, page, element, candidates, e -> true);
+    }
+    
+    // For loops that keep whichever selector matches the most elements
+    public static List<WebElement> findLargest(WebDriver driver, String page, String element, String[] candidates) {
+        return ElementProbe.probe(driver, () -> scanLargest(driver, page, element, candidates));
+    }
+    
+    // For loops that merge results from every selector: later runs only query the selectors that produced something
+    public static List<WebElement> findAllProductive(WebDriver driver, String page, String element, String[] candidates) {
+        return ElementProbe.probe(driver, () -> scanProductive(driver, page, element, candidates));
+    }
+    
+    private static WebElement scanFirst(WebDriver driver, String page, String element, String[] candidates,
+                                        Predicate<WebElement> accept) {
+        String key = page + "." + element;
+        String cached = winners.get(key);
+        
+        if (cached != null) {
+            WebElement found = firstAccepted(driver, cached, accept);
+            if (found != null) {
+                hits.incrementAndGet();
+                return found;
+            }
+            invalidate(key);
+        }
+        
+        misses.incrementAndGet();
+        for (String selector : candidates) {
+            WebElement found = firstAccepted(driver, selector, accept);
+            if (found != null) {
+                remember(key, selector);
+                return found;
+            }
+        }
+        return null;
+    }
+    
+    private static List<WebElement> scanLargest(WebDriver driver, String page, String element, String[] candidates) {
+        String key = page + "." + element;
+        String cached = winners.get(key);
+        
+        if (cached != null) {
+            List<WebElement> found = findAllQuietly(driver, cached);
+            if (!found.isEmpty()) {
+                hits.incrementAndGet();
+                return found;
+            }
+            invalidate(key);
+        }
+        
+        misses.incrementAndGet();
+        List<WebElement> largest = new ArrayList<>();
+        String winner = null;
+        for (String selector : candidates) {
+            List<WebElement> found = findAllQuietly(driver, selector);
+            if (found.size() > largest.size()) {
+                largest = found;
+                winner = selector;
+            }
+        }
+        if (winner != null) {
+            remember(key, winner);
+        }
+        return largest;
+    }
+    
+    private static List<WebElement> scanProductive(WebDriver driver, String page, String element, String[] candidates) {
+        String key = page + "." + element;
+        String cached = winners.get(key);
+        
+        if (cached != null) {
+            List<WebElement> found = new ArrayList<>();
+            for (String selector : cached.split(Pattern.quote(SEPARATOR))) {
+                found.addAll(findAllQuietly(driver, selector));
+            }
+            if (!found.isEmpty()) {
+                hits.incrementAndGet();
+                return found;
+            }
+            invalidate(key);
+        }
+        
+        misses.incrementAndGet();
+        List<WebElement> found = new ArrayList<>();
+        List<String> productive = new ArrayList<>();
+        for (String selector : candidates) {
+            List<WebElement> matches = findAllQuietly(driver, selector);
+            if (!matches.isEmpty()) {
+                found.addAll(matches);
+                productive.add(selector);
+            }
+        }
+        if (!productive.isEmpty()) {
+            remember(key, String.join(SEPARATOR, productive));
+        }
+        return found;
+    }
+    
+    public static synchronized void save() {
+        System.out.println("🧭 Selector cache: " + hits.get() + " hit(s), " + misses.get() + " miss(es), "
+            + invalidations.get() + " invalidation(s), " + winners.size() + " learned element(s)");
+        if (!dirty) {
+            return;
+        }
+        
+        Properties props = new Properties();
+        props.putAll(winners);
+        new File(CACHE_FILE).getAbsoluteFile().getParentFile().mkdirs();
+        try (FileWriter writer = new FileWriter(CACHE_FILE)) {
+            props.store(writer, "Winning selector per page.element");
+            dirty = false;
+        } catch (IOException e) {
+            System.out.println("⚠️ Could not save selector cache: " + e.getMessage());
+        }
+    }
+    
+    private static WebElement firstAccepted(WebDriver driver, String selector, Predicate<WebElement> accept) {
+        for (WebElement candidate : findAllQuietly(driver, selector)) {
+            try {
+                if (accept.test(candidate)) {
+                    return candidate;
+                }
+            } catch (Exception e) {
+                // Stale or detached candidate, try the next one
+            }
+        }
+        return null;
+    }
+    
+    // Only called inside the caller's probe, so a plain findElements returns at once
+    private static List<WebElement> findAllQuietly(WebDriver driver, String selector) {
+        try {
+            return driver.findElements(By.cssSelector(selector));
+        } catch (Exception e) {
+            // Unsupported selector in this browser (e.g. :has)
+            return new ArrayList<>();
+        }
+    }
+    
+    private static void remember(String key, String selector) {
+        if (!selector.equals(winners.put(key, selector))) {
+            dirty = true;
+        }
+    }
+    
+    private static void invalidate(String key) {
+        winners.remove(key);
+        invalidations.incrementAndGet();
+        dirty = true;
+        System.out.println("🧭 Cached selector for " + key + " no longer matches - rescanning candidates");
+    }
+    
+    private static void load() {
+        File file = new File(CACHE_FILE);
+        if (!file.exists()) {
+            return;
+        }
+        
+        Properties props = new Properties();
+        try (FileReader reader = new FileReader(file)) {
+            props.load(reader);
+            for (String key : props.stringPropertyNames()) {
+                winners.put(key, props.getProperty(key));
+            }
+            System.out.println("🧭 Selector cache loaded: " + winners.size() + " learned element(s)");
+        } catch (IOException e) {
+            System.out.println("⚠️ Could not load selector cache: " + e.getMessage());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,80 @@
+package com.ziegler.aerospace.utils;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import org.openqa.selenium.WebDriver;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+
+public class StepRecorder {
+    // Last N step frames per test, kept in memory and written only when the test fails. -Dstep.frames=0 turns it off
+    private static final int MAX_FRAMES = Integer.getInteger("step.frames", 5);
+    private static final long BUDGET_BYTES = Long.getLong("step.frames.budget.mb", 16) * 1024 * 1024;
+    
+    private static final ThreadLocal<Deque<StepFrame>> frames = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final ThreadLocal<long[]> bufferedBytes = ThreadLocal.withInitial(() -> new long[1]);
+    
+    public static void record(WebDriver driver, String step) {
+        if (MAX_FRAMES <= 0 || driver == null) {
+            return;
+        }
+        
+        try {
+            ScreenshotCapture.Frame frame = ScreenshotCapture.captureUnbudgeted(driver);
+            Deque<StepFrame> buffer = frames.get();
+            long[] bytes = bufferedBytes.get();
+            
+            buffer.addLast(new StepFrame(step, driver.getCurrentUrl(), frame));
+            bytes[0] += frame.getBytes().length;
+            
+            // Oldest frames go first, by count and by size; the newest one always stays
+            while (buffer.size() > 1 && (buffer.size() > MAX_FRAMES || bytes[0] > BUDGET_BYTES)) {
+                bytes[0] -= buffer.removeFirst().frame.getBytes().length;
+            }
+        } catch (Exception e) {
+            // A missing frame must never fail the step itself
+            System.out.println("⚠️ Could not record step frame: " + e.getMessage());
+        }
+    }
+    
+    // Writes the buffered frames oldest-first and attaches them to the test; the buffer is emptied either way
+    public static void attachTo(ExtentTest test, String directory) {
+        Deque<StepFrame> buffer = frames.get();
+        if (buffer.isEmpty() || test == null) {
+            reset();
+            return;
+        }
+        
+        int total = buffer.size();
+        int index = 1;
+        LogPipeline.log(test, Status.INFO, "🎞️ Last " + total + " step(s) before the failure:");
+        for (StepFrame stepFrame : buffer) {
+            ScreenshotCapture.charge(stepFrame.frame);
+            CompletableFuture<String> path = ScreenshotWriter.submit(stepFrame.frame.getBytes(), directory,
+                "step" + index + "_" + stepFrame.step, stepFrame.frame.getExtension());
+            LogPipeline.log(test, Status.INFO, "🎞️ Step " + index + "/" + total + ": " + stepFrame.step
+                + " | " + stepFrame.url);
+            LogPipeline.attachScreenshot(test, path);
+            index++;
+        }
+        reset();
+    }
+    
+    public static void reset() {
+        frames.get().clear();
+        bufferedBytes.get()[0] = 0;
+    }
+    
+    private static class StepFrame {
+        private final String step;
+        private final String url;
+        private final ScreenshotCapture.Frame frame;
+        
+        StepFrame(String step, String url, ScreenshotCapture.Frame frame) {
+            this.step = step;
+            this.url = url;
+            this.frame = frame;
+        }
+    }
+}
\ No newline at end of file
@@ -8,20 +8,21 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class TestDataManager {
     private static final String TEST_DATA_PATH = "testdata/";
-    private static List<TestResult> testResults = new ArrayList<>();
-    private static List<ProductDetails> productData = new ArrayList<>();
-    private static List<CartItemDetails> cartData = new ArrayList<>();
-    private static List<ValidationResult> validationData = new ArrayList<>();
+    // Copy-on-write lists: appended from parallel test threads, iterated at export time
+    private static final List<TestResult> testResults = new CopyOnWriteArrayList<>();
+    private static final List<ProductDetails> productData = new CopyOnWriteArrayList<>();
+    private static final List<CartItemDetails> cartData = new CopyOnWriteArrayList<>();
+    private static final List<ValidationResult> validationData = new CopyOnWriteArrayList<>();
     
     static {
         // Create directory if it doesn't exist
         new java.io.File(TEST_DATA_PATH).mkdirs();
-        System.out.println("📁 Test data directory initialized: " + TEST_DATA_PATH);
+        LogPipeline.console("📁 Test data directory initialized: " + TEST_DATA_PATH);
     }
     
     public static void logTestResult(String testName, String status, 
@@ -29,7 +30,7 @@ public class TestDataManager {
         TestResult result = new TestResult(testName, status, details, timestamp);
         testResults.add(result);
         
-        System.out.println("📝 Logged: " + testName + " - " + status);
+        LogPipeline.console("📝 Logged: " + testName + " - " + status);
     }
     
     public static void logProductValidation(ProductDetails product) {
@@ -41,7 +42,7 @@ public class TestDataManager {
                 product.getName(), product.getPrice(), product.getQuantity()),
             timestamp);
         
-        System.out.println("📦 Product logged: " + product.getName());
+        LogPipeline.console("📦 Product logged: " + product.getName());
     }
     
     public static void logCartItem(CartItemDetails cartItem) {
@@ -58,7 +59,7 @@ public class TestDataManager {
         String timestamp = getCurrentTimestamp();
         
         testResults.add(new TestResult(testType, "FAILED", errorMessage, timestamp));
-        System.out.println("❌ Failed validation logged: " + testType);
+        LogPipeline.console("❌ Failed validation logged: " + testType);
     }
     
     public static void logValidationResult(String validationType, boolean passed, String details) {
@@ -69,7 +70,7 @@ public class TestDataManager {
         logTestResult("Validation Test", status, validationType + ": " + details, getCurrentTimestamp());
     }
     
-    public static void exportResultsToCSV() {
+    public static synchronized void exportResultsToCSV() {
         String timestamp = LocalDateTime.now().format(
             DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss"));
         
@@ -78,7 +79,7 @@ public class TestDataManager {
         exportCartData(timestamp);
         exportValidationData(timestamp);
         
-        System.out.println("📊 All test data exported successfully");
+        LogPipeline.console("📊 All test data exported successfully");
     }
     
     private static void exportTestResults(String timestamp) {
@@ -96,10 +97,10 @@ public class TestDataManager {
                     result.getDetails(), result.getTimestamp());
             }
             
-            System.out.println("📄 Test results exported: " + fileName);
+            LogPipeline.console("📄 Test results exported: " + fileName);
             
         } catch (IOException e) {
-            System.out.println("❌ Failed to export test results: " + e.getMessage());
+            LogPipeline.console("❌ Failed to export test results: " + e.getMessage());
         }
     }
     
@@ -120,10 +121,10 @@ public class TestDataManager {
                     product.getQuantity(), product.getUrl(), product.isInStock(), getCurrentTimestamp());
             }
             
-            System.out.println("📦 Product data exported: " + fileName);
+            LogPipeline.console("📦 Product data exported: " + fileName);
             
         } catch (IOException e) {
-            System.out.println("❌ Failed to export product data: " + e.getMessage());
+            LogPipeline.console("❌ Failed to export product data: " + e.getMessage());
         }
     }
     
@@ -144,10 +145,10 @@ public class TestDataManager {
                     item.getQuantity(), getCurrentTimestamp());
             }
             
-            System.out.println("🛒 Cart data exported: " + fileName);
+            LogPipeline.console("🛒 Cart data exported: " + fileName);
             
         } catch (IOException e) {
-            System.out.println("❌ Failed to export cart data: " + e.getMessage());
+            LogPipeline.console("❌ Failed to export cart data: " + e.getMessage());
         }
     }
     
@@ -169,10 +170,10 @@ public class TestDataManager {
                     validation.getDetails(), validation.getTimestamp());
             }
             
-            System.out.println("🧪 Validation data exported: " + fileName);
+            LogPipeline.console("🧪 Validation data exported: " + fileName);
             
         } catch (IOException e) {
-            System.out.println("❌ Failed to export validation data: " + e.getMessage());
+            LogPipeline.console("❌ Failed to export validation data: " + e.getMessage());
         }
     }
     
@@ -182,13 +183,14 @@ public class TestDataManager {
         testResults.add(new TestResult("Shipped Elements", "LOGGED", 
             elementType + ": " + details, timestamp));
         
-        System.out.println("📦 Shipped element logged: " + elementType);
+        LogPipeline.console("📦 Shipped element logged: " + elementType);
     }
     
     public static void generateFinalSummary() {
-        System.out.println("\n" + "=".repeat(100));
-        System.out.println("🎯 ZIEGLER AEROSPACE - FINAL TEST EXECUTION SUMMARY");
-        System.out.println("=".repeat(100));
+        // Queued behind the per-test lines, so the summary still prints after them
+        LogPipeline.console("\n" + "=".repeat(100));
+        LogPipeline.console("🎯 ZIEGLER AEROSPACE - FINAL TEST EXECUTION SUMMARY");
+        LogPipeline.console("=".repeat(100));
         
         // Count results by status
         int totalTests = testResults.size();
@@ -196,28 +198,29 @@ public class TestDataManager {
         int failedTests = (int) testResults.stream().filter(r -> "FAILED".equals(r.getStatus())).count();
         int loggedItems = (int) testResults.stream().filter(r -> "LOGGED".equals(r.getStatus())).count();
         
-        System.out.println("📊 EXECUTION STATISTICS:");
-        System.out.println("   📋 Total Test Actions: " + totalTests);
-        System.out.println("   ✅ Passed Tests: " + passedTests);
-        System.out.println("   ❌ Failed Tests: " + failedTests);
-        System.out.println("   📝 Logged Items: " + loggedItems);
-        System.out.println("   📦 Products Tested: " + productData.size());
-        System.out.println("   🛒 Cart Items Verified: " + cartData.size());
-        System.out.println("   🧪 Validation Tests: " + validationData.size());
+        LogPipeline.console("📊 EXECUTION STATISTICS:");
+        LogPipeline.console("   📋 Total Test Actions: " + totalTests);
+        LogPipeline.console("   ✅ Passed Tests: " + passedTests);
+        LogPipeline.console("   ❌ Failed Tests: " + failedTests);
+        LogPipeline.console("   📝 Logged Items: " + loggedItems);
+        LogPipeline.console("   📦 Products Tested: " + productData.size());
+        LogPipeline.console("   🛒 Cart Items Verified: " + cartData.size());
+        LogPipeline.console("   🧪 Validation Tests: " + validationData.size());
         
         if (totalTests > 0) {
             double successRate = (passedTests * 100.0) / (passedTests + failedTests);
-            System.out.println("   📈 Success Rate: " + String.format("%.1f%%", successRate));
+            LogPipeline.console("   📈 Success Rate: " + String.format("%.1f%%", successRate));
         }
         
-        System.out.println("\n📁 GENERATED ARTIFACTS:");
-        System.out.println("   📊 HTML Report: " + reportFileName);
-        System.out.println("   📸 Screenshots: " + SCREENSHOT_PATH);
-        System.out.println("   📄 CSV Data: " + TEST_DATA_PATH);
+        LogPipeline.console("\n📁 GENERATED ARTIFACTS:");
+        LogPipeline.console("   📊 HTML Report: " + ReportManager.getReportFileName());
+        LogPipeline.console("   📸 Screenshots: " + ReportManager.getScreenshotPath());
+        LogPipeline.console("   📄 CSV Data: " + TEST_DATA_PATH);
         
-        System.out.println("\n⏰ COMPLETION TIME: " + getCurrentTimestamp());
-        System.out.println("🏢 ASSIGNMENT COMPLETED FOR: Ziegler Aerospace");
-        System.out.println("=".repeat(100));
+        LogPipeline.console("\n⏰ COMPLETION TIME: " + getCurrentTimestamp());
+        LogPipeline.console("🏢 ASSIGNMENT COMPLETED FOR: Ziegler Aerospace");
+        LogPipeline.console("=".repeat(100));
+        LogPipeline.flush();
     }
     
     public static void clearResults() {
@@ -225,7 +228,7 @@ public class TestDataManager {
         productData.clear();
         cartData.clear();
         validationData.clear();
-        System.out.println("🧹 Test data cleared for new execution");
+        LogPipeline.console("🧹 Test data cleared for new execution");
     }
     
     private static String getCurrentTimestamp() {
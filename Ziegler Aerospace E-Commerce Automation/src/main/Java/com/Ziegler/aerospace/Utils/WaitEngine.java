@@ -0,0 +1,192 @@
+package com.ziegler.aerospace.utils;
+
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public class WaitEngine {
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(15);
+    private static final Duration POLLING = Duration.ofMillis(50);
+    private static final long DOM_QUIET_MILLIS = 150;
+    private static final AtomicLong tokens = new AtomicLong();
+    private static final Map<String, LongAdder[]> waitStats = new ConcurrentHashMap<>();
+    
+    // Counts pending XHR/fetch calls and DOM mutations for the current document (idempotent)
+    private static final String INSTRUMENT_SCRIPT =
+        "var w = window;" +
+        "if (!w.__zaInstalled) {" +
+        "  w.__zaInstalled = true; w.__zaPending = 0; w.__zaMutations = 0; w.__zaLastMutation = Date.now();" +
+        "  var send = XMLHttpRequest.prototype.send;" +
+        "  XMLHttpRequest.prototype.send = function() {" +
+        "    w.__zaPending++;" +
+        "    this.addEventListener('loadend', function() { w.__zaPending--; });" +
+        "    return send.apply(this, arguments);" +
+        "  };" +
+        "  if (w.fetch) {" +
+        "    var fetch = w.fetch;" +
+        "    w.fetch = function() {" +
+        "      w.__zaPending++;" +
+        "      return fetch.apply(this, arguments).finally(function() { w.__zaPending--; });" +
+        "    };" +
+        "  }" +
+        "  new MutationObserver(function() { w.__zaMutations++; w.__zaLastMutation = Date.now(); })" +
+        "    .observe(document.documentElement, { childList: true, subtree: true, attributes: true, characterData: true });" +
+        "}";
+        
+    private static final String PENDING_REQUESTS = "((window.__zaPending || 0) + (window.jQuery ? window.jQuery.active : 0))";
+    
+    private static final String CART_COUNT_SCRIPT =
+        "var el = document.querySelector('.cart_counter, .cart-count, .topcart .label');" +
+        "return el ? el.textContent.replace(/[^0-9]/g, '') : '';";
+        
+    public static void waitForDocumentReady(WebDriver driver) {
+        await(driver, "document ready", d -> "complete".equals(js(d, "return document.readyState;")));
+    }
+    
+    public static void waitForNetworkIdle(WebDriver driver) {
+        instrument(driver);
+        await(driver, "network idle", d -> Boolean.TRUE.equals(js(d, "return " + PENDING_REQUESTS + " === 0;")));
+    }
+    
+    public static void waitForDomSettled(WebDriver driver) {
+        instrument(driver);
+        await(driver, "DOM settled", d -> Boolean.TRUE.equals(js(d,
+            "return Date.now() - window.__zaLastMutation >= " + DOM_QUIET_MILLIS + ";")));
+    }
+    
+    public static void waitForUrlChange(WebDriver driver, String previousUrl) {
+        await(driver, "URL change", d -> !Objects.equals(d.getCurrentUrl(), previousUrl));
+        waitForDocumentReady(driver);
+    }
+    
+    public static String readCartCount(WebDriver driver) {
+        try {
+            return String.valueOf(js(driver, CART_COUNT_SCRIPT));
+        } catch (Exception e) {
+            return "";
+        }
+    }
+    
+    public static void waitForCartCountChange(WebDriver driver, String previousCount) {
+        await(driver, "cart counter change", d -> !Objects.equals(readCartCount(d), previousCount));
+    }
+    
+    // Flags the next replacement of a dropdown's options (e.g. zones reloaded after a country change)
+    public static void beginOptionReload(WebDriver driver, String selector) {
+        instrument(driver);
+        js(driver,
+            "var s = document.querySelector(arguments[0]); window.__zaOptionsReloaded = false;" +
+            "if (s) {" +
+            "  new MutationObserver(function(m, o) { window.__zaOptionsReloaded = true; o.disconnect(); })" +
+            "    .observe(s.parentNode, { childList: true, subtree: true });" +
+            "}", selector);
+    }
+    
+    // Done once the options were replaced (or the request finished) and there is more than the placeholder;
+    // a cached option value is checked afterwards, so a stale one cannot hold the wait until it times out
+    public static void awaitOptionReload(WebDriver driver, String selector) {
+        await(driver, "options reload", d -> Boolean.TRUE.equals(js(d,
+            "var s = document.querySelector(arguments[0]);" +
+            "if (!s || !(window.__zaOptionsReloaded || " + PENDING_REQUESTS + " === 0)) { return false; }" +
+            "return s.options.length > 1;",
+            selector)));
+    }
+    
+    // Marks the current document so a later awaitTransition() can tell whether it navigated or mutated in place
+    public static Transition beginTransition(WebDriver driver) {
+        instrument(driver);
+        String token = "za-" + tokens.incrementAndGet();
+        js(driver, "window.__zaToken = arguments[0]; window.__zaMutations = 0;", token);
+        return new Transition(token, driver.getCurrentUrl(), readCartCount(driver));
+    }
+    
+    public static void awaitTransition(WebDriver driver, Transition transition) {
+        await(driver, "page transition", d -> Boolean.TRUE.equals(js(d,
+            "if (window.__zaToken !== arguments[0]) { return document.readyState === 'complete'; }" +
+            "return window.__zaMutations > 0 && " + PENDING_REQUESTS + " === 0" +
+            "  && Date.now() - window.__zaLastMutation >= " + DOM_QUIET_MILLIS + ";",
+            transition.token)));
+    }
+    
+    // Like awaitTransition, but a submit that changes nothing (e.g. blocked by HTML5 validation) also counts as done
+    public static void awaitQuiet(WebDriver driver, Transition transition) {
+        await(driver, "submit outcome", d -> Boolean.TRUE.equals(js(d,
+            "if (window.__zaToken !== arguments[0]) { return document.readyState === 'complete'; }" +
+            "return " + PENDING_REQUESTS + " === 0 && Date.now() - window.__zaLastMutation >= " + DOM_QUIET_MILLIS + ";",
+            transition.token)));
+    }
+    
+    // Add-to-cart either redirects to the cart or updates the header counter in place
+    public static void awaitCartUpdate(WebDriver driver, Transition transition) {
+        await(driver, "cart update", d -> {
+            Object sameDocument = js(d, "return window.__zaToken === arguments[0];", transition.token);
+            if (!Boolean.TRUE.equals(sameDocument)) {
+                return "complete".equals(js(d, "return document.readyState;"));
+            }
+            return !Objects.equals(readCartCount(d), transition.cartCount);
+        });
+    }
+    
+    public static void printSummary() {
+        if (waitStats.isEmpty()) {
+            return;
+        }
+        System.out.println("⏳ Condition wait summary:");
+        for (Map.Entry<String, LongAdder[]> entry : waitStats.entrySet()) {
+            long count = entry.getValue()[0].sum();
+            long total = entry.getValue()[1].sum();
+            System.out.println("   " + entry.getKey() + ": " + count + " wait(s), " + total + " ms total, "
+                + (count == 0 ? 0 : total / count) + " ms avg");
+        }
+    }
+    
+    private static void await(WebDriver driver, String name, ExpectedCondition<Boolean> condition) {
+        long start = System.currentTimeMillis();
+        try {
+            new WebDriverWait(driver, DEFAULT_TIMEOUT)
+                .pollingEvery(POLLING)
+                .ignoring(JavascriptException.class)
+                .until(condition);
+        } finally {
+            record(name, System.currentTimeMillis() - start);
+        }
+    }
+    
+    private static void record(String name, long elapsed) {
+        LongAdder[] stats = waitStats.computeIfAbsent(name, k -> new LongAdder[] {new LongAdder(), new LongAdder()});
+        stats[0].increment();
+        stats[1].add(elapsed);
+        System.out.println("⏳ Wait [" + name + "] finished in " + elapsed + " ms");
+    }
+    
+    private static void instrument(WebDriver driver) {
+        js(driver, INSTRUMENT_SCRIPT);
+    }
+    
+    private static Object js(WebDriver driver, String script, Object... args) {
+        return ((JavascriptExecutor) driver).executeScript(script, args);
+    }
+    
+    public static class Transition {
+        private final String token;
+        private final String url;
+        private final String cartCount;
+        
+        private Transition(String token, String url, String cartCount) {
+            this.token = token;
+            this.url = url;
+            this.cartCount = cartCount;
+        }
+        
+        public String getUrl() { return url; }
+        public String getCartCount() { return cartCount; }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,143 @@
+package com.ziegler.aerospace.utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.List;
+import java.util.Properties;
+import java.util.TreeSet;
+
+public class ZoneCatalog {
+    // Country name -> option value and (country value, zone name) -> option value, learned once and kept across runs
+    private static final String CATALOG_FILE = System.getProperty("zone.catalog.file", "testdata/zone_catalog.properties");
+    private static final Properties catalog = new Properties();
+    private static volatile boolean dirty = false;
+    
+    // Every option of a dropdown as [text, value] in one round-trip instead of getText() per option
+    private static final String OPTIONS_SCRIPT =
+        "var s = document.querySelector(arguments[0]);" +
+        "if (!s) { return []; }" +
+        "return Array.prototype.map.call(s.options, function(o) { return [o.text.trim(), o.value]; });";
+        
+    private static final String OFFERS_SCRIPT =
+        "var s = document.querySelector(arguments[0]), value = arguments[1];" +
+        "return !!s && Array.prototype.some.call(s.options, function(o) { return o.value === value; });";
+        
+    static {
+        load();
+    }
+    
+    public static String countryValue(WebDriver driver, String selector, String countryName) {
+        String value = lookup("country.", countryName);
+        if (value == null) {
+            learn(driver, selector, "country.");
+            value = lookup("country.", countryName);
+        }
+        return value;
+    }
+    
+    // Call once the zone list has reloaded: a cached value it no longer offers drops the country's zones for a relearn
+    public static String zoneValue(WebDriver driver, String selector, String countryValue, String zoneName) {
+        String prefix = "zone." + countryValue + ".";
+        String value = lookup(prefix, zoneName);
+        if (value != null && !offers(driver, selector, value)) {
+            System.out.println("🌎 Cached value " + value + " for " + zoneName + " is no longer offered - relearning");
+            forget(prefix);
+            value = null;
+        }
+        if (value == null) {
+            learn(driver, selector, prefix);
+            value = lookup(prefix, zoneName);
+        }
+        return value;
+    }
+    
+    public static synchronized void save() {
+        if (!dirty) {
+            return;
+        }
+        
+        new File(CATALOG_FILE).getAbsoluteFile().getParentFile().mkdirs();
+        try (FileWriter writer = new FileWriter(CATALOG_FILE)) {
+            catalog.store(writer, "Country and zone option values for the checkout form");
+            dirty = false;
+            System.out.println("🌎 Zone catalog saved: " + catalog.size() + " entries");
+        } catch (IOException e) {
+            System.out.println("⚠️ Could not save zone catalog: " + e.getMessage());
+        }
+    }
+    
+    // Exact name first, then the first entry containing it (same fallback as the old visible-text scan);
+    // keys are sorted so overlapping names resolve the same way on every run
+    private static String lookup(String prefix, String name) {
+        String exact = catalog.getProperty(prefix + name);
+        if (exact != null) {
+            return exact;
+        }
+        for (String key : new TreeSet<>(catalog.stringPropertyNames())) {
+            if (key.startsWith(prefix) && key.substring(prefix.length()).contains(name)) {
+                return catalog.getProperty(key);
+            }
+        }
+        return null;
+    }
+    
+    private static boolean offers(WebDriver driver, String selector, String value) {
+        try {
+            return Boolean.TRUE.equals(((JavascriptExecutor) driver).executeScript(OFFERS_SCRIPT, selector, value));
+        } catch (Exception e) {
+            return false;
+        }
+    }
+    
+    private static synchronized void forget(String prefix) {
+        for (String key : catalog.stringPropertyNames()) {
+            if (key.startsWith(prefix)) {
+                catalog.remove(key);
+                dirty = true;
+            }
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static synchronized void learn(WebDriver driver, String selector, String prefix) {
+        try {
+            List<List<Object>> options = (List<List<Object>>) ((JavascriptExecutor) driver).executeScript(
+                OPTIONS_SCRIPT, selector);
+                
+            int learned = 0;
+            for (List<Object> option : options) {
+                String text = String.valueOf(option.get(0));
+                String value = String.valueOf(option.get(1));
+                // Skip placeholders like "--- Please Select ---"
+                if (text.isEmpty() || value.isEmpty() || "0".equals(value)) {
+                    continue;
+                }
+                if (!value.equals(catalog.setProperty(prefix + text, value))) {
+                    dirty = true;
+                }
+                learned++;
+            }
+            System.out.println("🌎 Learned " + learned + " option(s) for " + prefix.replaceAll("\\.$", ""));
+        } catch (Exception e) {
+            System.out.println("⚠️ Could not read options of " + selector + ": " + e.getMessage());
+        }
+    }
+    
+    private static void load() {
+        File file = new File(CATALOG_FILE);
+        if (!file.exists()) {
+            return;
+        }
+        
+        try (FileReader reader = new FileReader(file)) {
+            catalog.load(reader);
+            System.out.println("🌎 Zone catalog loaded: " + catalog.size() + " entries");
+        } catch (IOException e) {
+            System.out.println("⚠️ Could not load zone catalog: " + e.getMessage());
+        }
+    }
+}
\ No newline at end of file